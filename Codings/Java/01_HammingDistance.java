@@ -4,14 +4,9 @@ class Solution {
     }
 
 
+    // For many fingerprints see 01_HammingIndex.java
     public int countBitsInNumber(int x) {
-        int numberOfBits = 0;
-        while (x != 0) {
-            if ((x & 0x1) == 1) {
-                numberOfBits++;
-            }
-            x >>= 1;
-        }
-        return numberOfBits;
+        // x >>= 1 would never reach 0 for negative numbers, Integer.bitCount is a single POPCNT
+        return Integer.bitCount(x);
     }
 }
@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Hamming space search over fixed size fingerprints (e.g. 256 bit = 4 longs), the bulk version of
+ * 01_HammingDistance. Fingerprints are packed one after the other in a single long[], a distance is
+ * wordsPerFingerprint XORs and Long.bitCount calls (a single POPCNT instruction each on x86 / ARM).
+ *
+ * - radius(query, r): multi-index hashing. The fingerprint is cut into 16 bit chunks, every chunk has its
+ *   own table from chunk value to fingerprint ids. If two fingerprints are within r, then by pigeonhole at
+ *   least one chunk differs in at most r / chunks bits, so only those table buckets have to be verified.
+ * - nearest(query, k): parallel brute force scan on the common ForkJoinPool, every task keeps its own
+ *   bounded heap, the heaps are merged at the end.
+ */
+class HammingIndex {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_VALUES = 1 << CHUNK_BITS;
+    private static final int SCAN_BLOCK = 1 << 16;
+
+    private final long[] data;
+    private final int words;
+    private final int size;
+    private final int chunks;
+    /** For every chunk: offsets[c][v] .. offsets[c][v + 1] is the range of ids[c] with chunk value v. */
+    private final int[][] offsets;
+    private final int[][] ids;
+
+    /**
+     * @param data     fingerprints packed one after the other, wordsPerFingerprint longs each
+     */
+    HammingIndex(long[] data, int wordsPerFingerprint) {
+        if (data.length % wordsPerFingerprint != 0) {
+            throw new IllegalArgumentException("data length is not a multiple of " + wordsPerFingerprint);
+        }
+        this.data = data;
+        this.words = wordsPerFingerprint;
+        this.size = data.length / wordsPerFingerprint;
+        this.chunks = wordsPerFingerprint * (64 / CHUNK_BITS);
+        this.offsets = new int[chunks][];
+        this.ids = new int[chunks][];
+        // Counting sort of the ids by chunk value, one table per task
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int[] start = new int[CHUNK_VALUES + 1];
+            for (int i = 0; i < size; i++) {
+                start[chunk(i, c) + 1]++;
+            }
+            for (int v = 0; v < CHUNK_VALUES; v++) {
+                start[v + 1] += start[v];
+            }
+            int[] fill = Arrays.copyOf(start, CHUNK_VALUES);
+            int[] table = new int[size];
+            for (int i = 0; i < size; i++) {
+                table[fill[chunk(i, c)]++] = i;
+            }
+            offsets[c] = start;
+            ids[c] = table;
+        });
+    }
+
+    static int hammingDistance(long[] a, int aOffset, long[] b, int bOffset, int words) {
+        int distance = 0;
+        for (int w = 0; w < words; w++) {
+            distance += Long.bitCount(a[aOffset + w] ^ b[bOffset + w]);
+        }
+        return distance;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int distance(int id, long[] query) {
+        return hammingDistance(data, id * words, query, 0, words);
+    }
+
+    /**
+     * Ids of all fingerprints within distance r of the query, in ascending id order.
+     * Uses the chunk tables while r / chunks <= 2, otherwise a full scan is cheaper.
+     */
+    int[] radius(long[] query, int r) {
+        int chunkRadius = r / chunks;
+        if (chunkRadius > 2) return scanRadius(query, r);
+
+        long[] seen = new long[(size + 63) >>> 6];
+        int[] found = new int[16];
+        int count = 0;
+        for (int c = 0; c < chunks; c++) {
+            int key = chunkOf(query, 0, c);
+            int[] probes = neighbours(key, chunkRadius);
+            for (int probe : probes) {
+                int[] table = ids[c];
+                for (int p = offsets[c][probe], end = offsets[c][probe + 1]; p < end; p++) {
+                    int id = table[p];
+                    if ((seen[id >>> 6] & (1L << id)) != 0) continue;
+                    seen[id >>> 6] |= 1L << id;
+                    if (distance(id, query) <= r) {
+                        if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                        found[count++] = id;
+                    }
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(found, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * The k nearest fingerprints, closest first (ties broken by the smaller id).
+     */
+    int[] nearest(long[] query, int k) {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative: " + k);
+        if (k == 0) return new int[0];
+        int blocks = (size + SCAN_BLOCK - 1) / SCAN_BLOCK;
+        long[] merged = IntStream.range(0, blocks).parallel()
+                .mapToObj(b -> scanBlock(query, k, b * SCAN_BLOCK, Math.min(size, (b + 1) * SCAN_BLOCK)))
+                .reduce(new long[0], (x, y) -> smallest(concat(x, y), k));
+        int[] result = new int[merged.length];
+        for (int i = 0; i < merged.length; i++) {
+            result[i] = (int) merged[i];
+        }
+        return result;
+    }
+
+    /**
+     * Bounded max-heap of (distance << 32 | id) entries: the root is the worst of the k best so far,
+     * a new fingerprint only enters if it beats the root.
+     */
+    private long[] scanBlock(long[] query, int k, int from, int to) {
+        long[] heap = new long[k];
+        int count = 0;
+        for (int id = from; id < to; id++) {
+            long entry = ((long) distance(id, query) << 32) | id;
+            if (count < k) {
+                heap[count] = entry;
+                siftUp(heap, count++);
+            } else if (entry < heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, k);
+            }
+        }
+        long[] result = Arrays.copyOf(heap, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int[] scanRadius(long[] query, int r) {
+        return IntStream.range(0, size).parallel().filter(id -> distance(id, query) <= r).toArray();
+    }
+
+    private int chunk(int id, int c) {
+        return chunkOf(data, id * words, c);
+    }
+
+    private static int chunkOf(long[] fingerprint, int offset, int c) {
+        int perWord = 64 / CHUNK_BITS;
+        return (int) (fingerprint[offset + c / perWord] >>> ((c % perWord) * CHUNK_BITS)) & (CHUNK_VALUES - 1);
+    }
+
+    /** All chunk values within distance 0, 1 or 2 of key. */
+    private static int[] neighbours(int key, int radius) {
+        int count = 1 + (radius >= 1 ? CHUNK_BITS : 0) + (radius >= 2 ? CHUNK_BITS * (CHUNK_BITS - 1) / 2 : 0);
+        int[] result = new int[count];
+        int n = 0;
+        result[n++] = key;
+        for (int i = 0; radius >= 1 && i < CHUNK_BITS; i++) {
+            result[n++] = key ^ (1 << i);
+            for (int j = i + 1; radius >= 2 && j < CHUNK_BITS; j++) {
+                result[n++] = key ^ (1 << i) ^ (1 << j);
+            }
+        }
+        return result;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static long[] smallest(long[] entries, int k) {
+        Arrays.sort(entries);
+        return entries.length <= k ? entries : Arrays.copyOf(entries, k);
+    }
+
+    private static void siftUp(long[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] >= heap[i]) return;
+            long tmp = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1, right = left + 1, largest = i;
+            if (left < size && heap[left] > heap[largest]) largest = left;
+            if (right < size && heap[right] > heap[largest]) largest = right;
+            if (largest == i) return;
+            long tmp = heap[largest];
+            heap[largest] = heap[i];
+            heap[i] = tmp;
+            i = largest;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 class Solution {
-     int L = 0, R = 0, U = 0, D = 0;
-
+    // For multi-GB move files see 03_RouteAnalysis.java
     public boolean judgeCircle(String moves) {
-                for (char c : moves.toCharArray()) {
-            switch (c) {
+        // Local counters, so the same Solution can be reused, and charAt instead of copying via toCharArray()
+        int L = 0, R = 0, U = 0, D = 0;
+        for (int i = 0; i < moves.length(); i++) {
+            switch (moves.charAt(i)) {
                 case 'L':
                     L++;
                     break;
@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * 03_JudgeRouteCircle for move files that don't fit into a String. The file is memory mapped in chunks
+ * and the bytes are read directly, nothing is copied into chars.
+ *
+ * - returnsToOrigin: one parallel pass that counts the L / R / U / D bytes of every chunk.
+ * - analyze: the same counts give every chunk's start position (prefix sum of the displacements),
+ *   then a second parallel pass walks every chunk from its real start to get the bounding box and
+ *   the max distance from the origin, which can't be combined from position independent chunk results.
+ *
+ * Bytes other than L / R / U / D (new lines etc.) are ignored, like in judgeCircle.
+ */
+class RouteAnalysis {
+    private static final int CHUNK = 64 << 20;
+    private static final byte[] DX = new byte[256];
+    private static final byte[] DY = new byte[256];
+
+    static {
+        DX['L'] = -1;
+        DX['R'] = 1;
+        DY['D'] = -1;
+        DY['U'] = 1;
+    }
+
+    static final class Summary {
+        long dx, dy;
+        long minX, maxX, minY, maxY;
+        /** The position farthest from the origin (x^2 + y^2 can need 127 bits, so the point is kept). */
+        long farX, farY;
+
+        boolean returnsToOrigin() {
+            return dx == 0 && dy == 0;
+        }
+
+        double maxDistance() {
+            return Math.hypot(farX, farY);
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{net=(" + dx + ", " + dy + "), x=[" + minX + ", " + maxX + "], y=[" + minY + ", " + maxY
+                    + "], maxDistance=" + maxDistance() + "}";
+        }
+    }
+
+    static boolean returnsToOrigin(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[][] displacements = displacements(channel);
+            long dx = 0, dy = 0;
+            for (long[] d : displacements) {
+                dx += d[0];
+                dy += d[1];
+            }
+            return dx == 0 && dy == 0;
+        }
+    }
+
+    static Summary analyze(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[][] displacements = displacements(channel);
+            long[][] starts = new long[displacements.length][2];
+            for (int c = 1; c < displacements.length; c++) {
+                starts[c][0] = starts[c - 1][0] + displacements[c - 1][0];
+                starts[c][1] = starts[c - 1][1] + displacements[c - 1][1];
+            }
+            return IntStream.range(0, displacements.length).parallel()
+                    .mapToObj(c -> walk(map(channel, c), starts[c][0], starts[c][1]))
+                    .reduce(RouteAnalysis::combine)
+                    .orElseGet(() -> walk(ByteBuffer.allocate(0), 0, 0));
+        }
+    }
+
+    /**
+     * Single threaded walk over the remaining bytes of the buffer, starting at (x, y).
+     */
+    static Summary walk(ByteBuffer moves, long x, long y) {
+        Summary s = new Summary();
+        s.minX = s.maxX = x;
+        s.minY = s.maxY = y;
+        s.farX = x;
+        s.farY = y;
+        long startX = x, startY = y;
+        for (int i = moves.position(), end = moves.limit(); i < end; i++) {
+            int b = moves.get(i) & 0xFF;
+            int stepX = DX[b], stepY = DY[b];
+            if ((stepX | stepY) == 0) continue;
+            x += stepX;
+            y += stepY;
+            s.minX = Math.min(s.minX, x);
+            s.maxX = Math.max(s.maxX, x);
+            s.minY = Math.min(s.minY, y);
+            s.maxY = Math.max(s.maxY, y);
+            if (farther(x, y, s.farX, s.farY)) {
+                s.farX = x;
+                s.farY = y;
+            }
+        }
+        s.dx = x - startX;
+        s.dy = y - startY;
+        return s;
+    }
+
+    /**
+     * Net displacement of every chunk from the byte counts, no position tracking needed.
+     */
+    private static long[][] displacements(FileChannel channel) throws IOException {
+        int chunks = (int) ((channel.size() + CHUNK - 1) / CHUNK);
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    ByteBuffer moves = map(channel, c);
+                    long[] counts = new long[256];
+                    for (int i = 0, end = moves.limit(); i < end; i++) {
+                        counts[moves.get(i) & 0xFF]++;
+                    }
+                    return new long[]{counts['R'] - counts['L'], counts['U'] - counts['D']};
+                })
+                .toArray(long[][]::new);
+    }
+
+    private static ByteBuffer map(FileChannel channel, int chunk) {
+        try {
+            long from = (long) chunk * CHUNK;
+            return channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(CHUNK, channel.size() - from));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** a comes before b in the file, and b was walked from its real start position. */
+    private static Summary combine(Summary a, Summary b) {
+        Summary s = new Summary();
+        s.dx = a.dx + b.dx;
+        s.dy = a.dy + b.dy;
+        s.minX = Math.min(a.minX, b.minX);
+        s.maxX = Math.max(a.maxX, b.maxX);
+        s.minY = Math.min(a.minY, b.minY);
+        s.maxY = Math.max(a.maxY, b.maxY);
+        boolean bFarther = farther(b.farX, b.farY, a.farX, a.farY);
+        s.farX = bFarther ? b.farX : a.farX;
+        s.farY = bFarther ? b.farY : a.farY;
+        return s;
+    }
+
+    /**
+     * x^2 + y^2 > fx^2 + fy^2, exact. Below 2^31 per coordinate the sums fit into a long,
+     * beyond that they are compared as 128 bit numbers.
+     */
+    static boolean farther(long x, long y, long fx, long fy) {
+        if (small(x) && small(y) && small(fx) && small(fy)) {
+            return x * x + y * y > fx * fx + fy * fy;
+        }
+        long lo = x * x + y * y;
+        long hi = Math.multiplyHigh(x, x) + Math.multiplyHigh(y, y) + (Long.compareUnsigned(lo, x * x) < 0 ? 1 : 0);
+        long fLo = fx * fx + fy * fy;
+        long fHi = Math.multiplyHigh(fx, fx) + Math.multiplyHigh(fy, fy) + (Long.compareUnsigned(fLo, fx * fx) < 0 ? 1 : 0);
+        return hi != fHi ? hi > fHi : Long.compareUnsigned(lo, fLo) > 0;
+    }
+
+    /** |v| < 2^31, so v^2 < 2^62. */
+    private static boolean small(long v) {
+        return v + 0x7FFFFFFFL >= 0 && v + 0x7FFFFFFFL < 0xFFFFFFFFL;
+    }
+}
@@ -8,15 +8,16 @@
  * }
  */
 
+// For big or deep trees see 04_TreePool.java (struct of arrays, iterative, in-place and parallel merges)
 class Solution {
     public TreeNode mergeTrees(TreeNode t1, TreeNode t2) {
-        if(t1 == null && t2 == null) return null;
+        // Where one side is missing the other subtree is shared, only overlapping positions get a new node
+        if (t1 == null) return t2;
+        if (t2 == null) return t1;
 
-        int rootVal = (t1 == null ? 0 : t1.val) + (t2 == null ? 0 : t2.val);
-
-        TreeNode root = new TreeNode(rootVal);
-        root.left = mergeTrees(t1 == null ? null : t1.left, t2 == null ? null : t2.left);
-        root.right = mergeTrees(t1 == null ? null : t1.right, t2 == null ? null : t2.right);
+        TreeNode root = new TreeNode(t1.val + t2.val);
+        root.left = mergeTrees(t1.left, t2.left);
+        root.right = mergeTrees(t1.right, t2.right);
         return root;
     }
 }
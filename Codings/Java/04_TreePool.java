@@ -0,0 +1,258 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Binary trees stored as struct of arrays: node i is (val[i], left[i], right[i]), NIL = -1 for a missing
+ * child. A pool can hold many trees, a tree is just the index of its root, and subtrees can be shared
+ * between trees of the same pool. Compared to TreeNode objects: no object header per node, and the
+ * merges below are loops with an int stack, so degenerate (list like) trees don't overflow the call stack.
+ *
+ * - merge: a new tree, nodes are only allocated where both trees have a node, the rest is shared.
+ * - mergeInPlace: sums b into a's nodes and links b's subtrees where a has none. No allocation at all.
+ * - mergeParallel: mergeInPlace with fork/join on the top levels of big balanced trees.
+ */
+class TreePool {
+    static final int NIL = -1;
+    private static final int SEQUENTIAL_DEPTH = 12;
+
+    int[] val;
+    int[] left;
+    int[] right;
+    private int size;
+
+    TreePool() {
+        this(16);
+    }
+
+    TreePool(int capacity) {
+        val = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    int node(int value, int leftChild, int rightChild) {
+        if (size == val.length) {
+            int capacity = Math.max(16, size * 2);
+            val = Arrays.copyOf(val, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        val[size] = value;
+        left[size] = leftChild;
+        right[size] = rightChild;
+        return size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * LeetCode style level order input, null for a missing node. Returns the root.
+     */
+    int fromLevelOrder(Integer... values) {
+        if (values.length == 0 || values[0] == null) return NIL;
+        int root = node(values[0], NIL, NIL);
+        ArrayDeque<Integer> parents = new ArrayDeque<>();
+        parents.add(root);
+        for (int i = 1; i < values.length; i += 2) {
+            int parent = parents.poll();
+            // node() may grow the arrays, so it has to run before left / right are dereferenced
+            if (values[i] != null) {
+                int child = node(values[i], NIL, NIL);
+                left[parent] = child;
+                parents.add(child);
+            }
+            if (i + 1 < values.length && values[i + 1] != null) {
+                int child = node(values[i + 1], NIL, NIL);
+                right[parent] = child;
+                parents.add(child);
+            }
+        }
+        return root;
+    }
+
+    List<Integer> toLevelOrder(int root) {
+        List<Integer> result = new ArrayList<>();
+        if (root == NIL) return result;
+        // Queue of slots, NIL slots are printed as null but not expanded
+        int[] queue = {root};
+        int head = 0, tail = 1;
+        while (head < tail) {
+            int n = queue[head++];
+            if (n == NIL) {
+                result.add(null);
+                continue;
+            }
+            result.add(val[n]);
+            if (tail + 2 > queue.length) queue = Arrays.copyOf(queue, queue.length * 2 + 2);
+            queue[tail++] = left[n];
+            queue[tail++] = right[n];
+        }
+        while (result.get(result.size() - 1) == null) {
+            result.remove(result.size() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * New tree with a[i] + b[i] at every position. Subtrees present in only one input are shared, not copied.
+     */
+    int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        int root = node(val[a] + val[b], NIL, NIL);
+        // Stack of (new parent, a child, b child, side) for every position where both trees have a child
+        int[] stack = new int[64];
+        int top = 0;
+        stack = push(stack, top, root, left[a], left[b], 0);
+        top += 4;
+        stack = push(stack, top, root, right[a], right[b], 1);
+        top += 4;
+        while (top > 0) {
+            top -= 4;
+            int parent = stack[top], x = stack[top + 1], y = stack[top + 2], side = stack[top + 3];
+            int child;
+            if (x == NIL || y == NIL) {
+                child = x == NIL ? y : x;
+            } else {
+                child = node(val[x] + val[y], NIL, NIL);
+                stack = push(stack, top, child, left[x], left[y], 0);
+                top += 4;
+                stack = push(stack, top, child, right[x], right[y], 1);
+                top += 4;
+            }
+            if (side == 0) {
+                left[parent] = child;
+            } else {
+                right[parent] = child;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Adds b into a and returns a (or b if a is empty). Where a has no child and b has one,
+     * b's subtree is linked into a, so afterwards the two trees share it.
+     */
+    int mergeInPlace(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = a;
+        stack[top++] = b;
+        while (top > 0) {
+            int y = stack[--top], x = stack[--top];
+            val[x] += val[y];
+            if (left[x] == NIL) {
+                left[x] = left[y];
+            } else if (left[y] != NIL) {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = left[x];
+                stack[top++] = left[y];
+            }
+            if (right[x] == NIL) {
+                right[x] = right[y];
+            } else if (right[y] != NIL) {
+                if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                stack[top++] = right[x];
+                stack[top++] = right[y];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * mergeInPlace, but the top levels fork into left and right tasks. Tasks touch disjoint nodes of a,
+     * so no synchronization is needed. Only pays off for big, reasonably balanced trees.
+     */
+    int mergeParallel(int a, int b, ForkJoinPool pool) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        pool.invoke(new MergeTask(a, b, 0));
+        return a;
+    }
+
+    /**
+     * Copies the subtree of other rooted at root into this pool, returns the new root.
+     */
+    int copyFrom(TreePool other, int root) {
+        if (root == NIL) return NIL;
+        int copy = node(other.val[root], NIL, NIL);
+        int[] stack = {copy, root};
+        int top = 2;
+        while (top > 0) {
+            int from = stack[--top], to = stack[--top];
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            int fromLeft = other.left[from], fromRight = other.right[from];
+            if (fromLeft != NIL) {
+                int child = node(other.val[fromLeft], NIL, NIL);
+                left[to] = child;
+                stack[top++] = child;
+                stack[top++] = fromLeft;
+            }
+            if (fromRight != NIL) {
+                int child = node(other.val[fromRight], NIL, NIL);
+                right[to] = child;
+                stack[top++] = child;
+                stack[top++] = fromRight;
+            }
+        }
+        return copy;
+    }
+
+    private static int[] push(int[] stack, int top, int parent, int x, int y, int side) {
+        if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[top] = parent;
+        stack[top + 1] = x;
+        stack[top + 2] = y;
+        stack[top + 3] = side;
+        return stack;
+    }
+
+    private class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int a;
+        private final int b;
+        private final int depth;
+
+        MergeTask(int a, int b, int depth) {
+            this.a = a;
+            this.b = b;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth >= SEQUENTIAL_DEPTH) {
+                mergeInPlace(a, b);
+                return;
+            }
+            val[a] += val[b];
+            MergeTask leftTask = null, rightTask = null;
+            if (left[a] == NIL) {
+                left[a] = left[b];
+            } else if (left[b] != NIL) {
+                leftTask = new MergeTask(left[a], left[b], depth + 1);
+            }
+            if (right[a] == NIL) {
+                right[a] = right[b];
+            } else if (right[b] != NIL) {
+                rightTask = new MergeTask(right[a], right[b], depth + 1);
+            }
+            if (leftTask != null && rightTask != null) {
+                invokeAll(leftTask, rightTask);
+            } else if (leftTask != null) {
+                leftTask.compute();
+            } else if (rightTask != null) {
+                rightTask.compute();
+            }
+        }
+    }
+}
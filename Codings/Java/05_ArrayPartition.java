@@ -1,5 +1,35 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
 class Solution {
+    // Counting pays off while the value range is at most this many times the array length
+    private static final int MAX_RANGE_PER_ELEMENT = 4;
+    private static final int MAX_RANGE = 1 << 26;
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * The sum of min(a, b) over the best pairing is the sum of every other element in sorted order.
+     * Small value range: counting histogram (O(n + range)), otherwise Arrays.sort.
+     */
     public int arrayPairSum(int[] nums) {
+        if (nums.length == 0) return 0;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int num : nums) {
+            min = Math.min(min, num);
+            max = Math.max(max, num);
+        }
+        long range = (long) max - min + 1;
+        if (range > MAX_RANGE || range > (long) nums.length * MAX_RANGE_PER_ELEMENT) {
+            return sortedPairSum(nums);
+        }
+        int[] counts = nums.length >= PARALLEL_THRESHOLD
+                ? histogramParallel(nums, min, (int) range)
+                : histogram(nums, 0, nums.length, min, (int) range);
+        return pairSum(counts, min);
+    }
+
+    static int sortedPairSum(int[] nums) {
         Arrays.sort(nums);
         int result = 0;
         for (int i = 0; i < nums.length; i += 2) {
@@ -7,4 +37,56 @@ class Solution {
         }
         return result;
     }
+
+    /**
+     * One pass over the buckets: the sorted positions 0, 2, 4, ... are taken. A bucket of c values starting at
+     * an even position contributes ceil(c / 2) of them, starting at an odd one floor(c / 2).
+     */
+    static int pairSum(int[] counts, int min) {
+        long result = 0;
+        int odd = 0;
+        for (int i = 0; i < counts.length; i++) {
+            int c = counts[i];
+            if (c == 0) continue;
+            result += (long) ((c + 1 - odd) >>> 1) * (min + i);
+            odd ^= c & 1;
+        }
+        return (int) result;
+    }
+
+    static int[] histogram(int[] nums, int from, int to, int min, int range) {
+        int[] counts = new int[range];
+        for (int i = from; i < to; i++) {
+            counts[nums[i] - min]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Every task counts its own slice into its own histogram, then the histograms are summed bucket range by bucket range.
+     * Falls back to a single histogram when one per thread would not fit next to the input.
+     */
+    static int[] histogramParallel(int[] nums, int min, int range) {
+        int tasks = ForkJoinPool.getCommonPoolParallelism();
+        if (tasks < 2 || (long) range * tasks > (long) nums.length * MAX_RANGE_PER_ELEMENT) {
+            return histogram(nums, 0, nums.length, min, range);
+        }
+        int slice = (int) (((long) nums.length + tasks - 1) / tasks);
+        int[][] partial = IntStream.range(0, tasks).parallel()
+                .mapToObj(t -> histogram(nums, (int) Math.min(nums.length, (long) t * slice),
+                        (int) Math.min(nums.length, (long) (t + 1) * slice), min, range))
+                .toArray(int[][]::new);
+        int[] counts = partial[0];
+        int block = 1 << 14;
+        IntStream.range(0, (range + block - 1) / block).parallel().forEach(b -> {
+            int end = Math.min(range, (b + 1) * block);
+            for (int t = 1; t < partial.length; t++) {
+                int[] other = partial[t];
+                for (int i = b * block; i < end; i++) {
+                    counts[i] += other[i];
+                }
+            }
+        });
+        return counts;
+    }
 }
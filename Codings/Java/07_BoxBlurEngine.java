@@ -0,0 +1,229 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Box blur with any radius over flat images, the generalization of 07_BlurBox (which is radius 1, Edge.CROP).
+ *
+ * - Separable running sums: a horizontal window sum per row, and per column a running sum of those row sums.
+ *   Moving one row down adds the entering row and subtracts the leaving one, so every pixel costs the same
+ *   for radius 1 or 100.
+ * - Pixels are ints with 1..4 packed 8 bit channels (channel c at bits 8c), or the same channels interleaved in a ByteBuffer.
+ * - Rows are cut into bands processed in parallel on the given ForkJoinPool, every band starts its own running sums.
+ * - The int[] output is allocated once and overwritten by every frame.
+ */
+class BoxBlurEngine {
+    enum Edge {
+        /** Only pixels whose whole window is inside the image, the output is 2 * radius smaller. */
+        CROP,
+        /** Outside pixels repeat the nearest edge pixel. */
+        CLAMP,
+        /** Outside pixels mirror the image without repeating the edge pixel: -1 -> 1. */
+        MIRROR,
+        /** The image tiles the plane. */
+        WRAP,
+        /** Outside pixels are 0 (the window still divides by its full size). */
+        ZERO
+    }
+
+    private static final int MAX_RADIUS = 1400;
+
+    private final int width;
+    private final int height;
+    private final int radius;
+    private final int channels;
+    private final int outWidth;
+    private final int outHeight;
+    private final int area;
+    private final int bandRows;
+    private final ForkJoinPool pool;
+    /** Window position p (0 .. out + 2 * radius) -> source column / row, -1 for a zero pixel. */
+    private final int[] columns;
+    private final int[] rows;
+    private final int[] output;
+    private final ThreadLocal<Scratch> scratch;
+
+    private final class Scratch {
+        final int[] pixels = new int[width];
+        final int[] rowSums = new int[outWidth * channels];
+        final int[] columnSums = new int[outWidth * channels];
+    }
+
+    BoxBlurEngine(int width, int height, int radius, int channels, Edge edge, ForkJoinPool pool) {
+        if (radius < 0 || radius > MAX_RADIUS) {
+            throw new IllegalArgumentException("radius must be in 0.." + MAX_RADIUS + ": " + radius);
+        }
+        if (channels < 1 || channels > 4) throw new IllegalArgumentException("channels must be in 1..4: " + channels);
+        int crop = edge == Edge.CROP ? 2 * radius : 0;
+        if (width <= crop || height <= crop) {
+            throw new IllegalArgumentException("Image " + width + "x" + height + " is too small for radius " + radius);
+        }
+        this.width = width;
+        this.height = height;
+        this.radius = radius;
+        this.channels = channels;
+        this.outWidth = width - crop;
+        this.outHeight = height - crop;
+        this.area = (2 * radius + 1) * (2 * radius + 1);
+        // A band pays 2 * radius + 1 rows to start its sums, keep that a small part of the band
+        this.bandRows = Math.max(32, 8 * (2 * radius + 1));
+        this.pool = pool;
+        this.columns = windowIndex(width, outWidth, radius, edge);
+        this.rows = windowIndex(height, outHeight, radius, edge);
+        this.output = new int[outWidth * outHeight];
+        this.scratch = ThreadLocal.withInitial(Scratch::new);
+    }
+
+    int outWidth() {
+        return outWidth;
+    }
+
+    int outHeight() {
+        return outHeight;
+    }
+
+    /**
+     * Blurs a width * height image of packed pixels. The returned array belongs to the engine
+     * and is overwritten by the next call.
+     */
+    int[] blur(int[] image) {
+        if (image.length != width * height) throw new IllegalArgumentException("Expected " + width * height + " pixels");
+        run(image, null, null);
+        return output;
+    }
+
+    /**
+     * Blurs width * height pixels of channels interleaved bytes each, from source's position into
+     * outWidth * outHeight pixels at target's position. Positions are not changed.
+     */
+    void blur(ByteBuffer source, ByteBuffer target) {
+        if (source.remaining() < width * height * channels || target.remaining() < outWidth * outHeight * channels) {
+            throw new IllegalArgumentException("Buffer too small");
+        }
+        run(null, source, target);
+    }
+
+    private void run(int[] image, ByteBuffer source, ByteBuffer target) {
+        int bands = (outHeight + bandRows - 1) / bandRows;
+        pool.submit(() -> IntStream.range(0, bands).parallel().forEach(b -> {
+            int from = b * bandRows;
+            blurBand(from, Math.min(outHeight, from + bandRows), image, source, target);
+        })).join();
+    }
+
+    private void blurBand(int from, int to, int[] image, ByteBuffer source, ByteBuffer target) {
+        Scratch s = scratch.get();
+        int[] sums = s.columnSums;
+        Arrays.fill(sums, 0);
+        for (int p = from; p <= from + 2 * radius; p++) {
+            addRow(rows[p], 1, image, source, s);
+        }
+        for (int y = from; y < to; y++) {
+            if (target == null) {
+                int base = y * outWidth;
+                for (int x = 0, i = 0; x < outWidth; x++, i += channels) {
+                    int pixel = 0;
+                    for (int c = 0; c < channels; c++) {
+                        pixel |= (sums[i + c] / area) << (8 * c);
+                    }
+                    output[base + x] = pixel;
+                }
+            } else {
+                int base = target.position() + y * outWidth * channels;
+                for (int i = 0; i < sums.length; i++) {
+                    target.put(base + i, (byte) (sums[i] / area));
+                }
+            }
+            if (y + 1 < to) {
+                addRow(rows[y + 2 * radius + 1], 1, image, source, s);
+                addRow(rows[y], -1, image, source, s);
+            }
+        }
+    }
+
+    /**
+     * columnSums += sign * horizontal window sums of the source row.
+     */
+    private void addRow(int row, int sign, int[] image, ByteBuffer source, Scratch s) {
+        if (row < 0) return;
+        int[] pixels;
+        int offset;
+        if (image != null) {
+            pixels = image;
+            offset = row * width;
+        } else {
+            pixels = s.pixels;
+            offset = 0;
+            int base = source.position() + row * width * channels;
+            for (int x = 0; x < width; x++) {
+                int pixel = 0;
+                for (int c = 0; c < channels; c++) {
+                    pixel |= (source.get(base + x * channels + c) & 0xFF) << (8 * c);
+                }
+                pixels[x] = pixel;
+            }
+        }
+        rowSums(pixels, offset, s.rowSums);
+        int[] sums = s.columnSums;
+        int[] rowSums = s.rowSums;
+        if (sign > 0) {
+            for (int i = 0; i < sums.length; i++) sums[i] += rowSums[i];
+        } else {
+            for (int i = 0; i < sums.length; i++) sums[i] -= rowSums[i];
+        }
+    }
+
+    /**
+     * out[x * channels + c] = sum of channel c over the window of output column x.
+     */
+    private void rowSums(int[] pixels, int offset, int[] out) {
+        int window = 2 * radius + 1;
+        for (int c = 0; c < channels; c++) {
+            int shift = 8 * c;
+            int sum = 0;
+            for (int p = 0; p < window; p++) {
+                sum += channel(pixels, offset, columns[p], shift);
+            }
+            for (int x = 0, i = c; ; x++, i += channels) {
+                out[i] = sum;
+                if (x + 1 == outWidth) break;
+                sum += channel(pixels, offset, columns[x + window], shift)
+                        - channel(pixels, offset, columns[x], shift);
+            }
+        }
+    }
+
+    private static int channel(int[] pixels, int offset, int column, int shift) {
+        return column < 0 ? 0 : (pixels[offset + column] >>> shift) & 0xFF;
+    }
+
+    private static int[] windowIndex(int size, int outSize, int radius, Edge edge) {
+        int[] index = new int[outSize + 2 * radius];
+        for (int p = 0; p < index.length; p++) {
+            int i = edge == Edge.CROP ? p : p - radius;
+            switch (edge) {
+                case CLAMP:
+                    i = Math.max(0, Math.min(size - 1, i));
+                    break;
+                case MIRROR:
+                    // Reflect until inside, radius can be bigger than the image
+                    while (i < 0 || i >= size) {
+                        i = i < 0 ? -i : 2 * (size - 1) - i;
+                        if (size == 1) i = 0;
+                    }
+                    break;
+                case WRAP:
+                    i = Math.floorMod(i, size);
+                    break;
+                case ZERO:
+                    if (i < 0 || i >= size) i = -1;
+                    break;
+                default:
+                    break;
+            }
+            index[p] = i;
+        }
+        return index;
+    }
+}
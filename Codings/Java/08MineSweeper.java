@@ -24,14 +24,9 @@ int[][] minesweeper(boolean[][] matrix) {
      return sum;
 }
 
+  // Bounds check instead of catching ArrayIndexOutOfBoundsException, exceptions are far too slow for the edge cells.
+  // For big boards see 08_BitMineGrid.java
   int boolToInt(boolean[][] matrix, int row, int column) {
-    try {
-        if (!matrix[row][column]) return 0;
-        else return 1;
-    } catch (ArrayIndexOutOfBoundsException e) {
-        return 0;
-    } catch (Exception e) {
-        System.out.println("Something went wrong.");
-        return 0;
-    }
+    if (row < 0 || row >= matrix.length || column < 0 || column >= matrix[row].length) return 0;
+    return matrix[row][column] ? 1 : 0;
 }
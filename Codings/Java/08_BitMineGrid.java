@@ -0,0 +1,157 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Minesweeper numbers for huge boards, the bit packed version of 08MineSweeper.
+ *
+ * Every row is ceil(cols / 64) longs, bit c of a row is the cell in column c (8x less memory than boolean[][]).
+ * The eight neighbours of 64 cells are eight shifted words (left / right neighbours come in with a carry
+ * from the adjacent word), and they are added with bit-sliced full adders like Game of Life engines do:
+ * the result are 4 bit planes, bit c of plane k is bit k of the count of column c. So 64 cells cost ~30 logic ops.
+ * Rows outside the board and columns past the edges read as 0, no bounds checks in the loop.
+ */
+class BitMineGrid {
+    private static final int BAND_ROWS = 64;
+
+    private final int rows;
+    private final int cols;
+    private final int words;
+    private final long[] bits;
+
+    BitMineGrid(int rows, int cols) {
+        if ((long) rows * ((cols + 63) >>> 6) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Board too big: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.words = (cols + 63) >>> 6;
+        this.bits = new long[rows * words];
+    }
+
+    static BitMineGrid fromMatrix(boolean[][] matrix) {
+        BitMineGrid grid = new BitMineGrid(matrix.length, matrix.length == 0 ? 0 : matrix[0].length);
+        for (int r = 0; r < matrix.length; r++) {
+            for (int c = 0; c < matrix[r].length; c++) {
+                if (matrix[r][c]) grid.set(r, c);
+            }
+        }
+        return grid;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    int cols() {
+        return cols;
+    }
+
+    void set(int row, int col) {
+        checkCell(row, col);
+        bits[row * words + (col >>> 6)] |= 1L << col;
+    }
+
+    boolean isMine(int row, int col) {
+        checkCell(row, col);
+        return (bits[row * words + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Number of neighbouring mines of every cell, computed in bands of rows on the pool.
+     */
+    Counts count(ForkJoinPool pool) {
+        Counts counts = new Counts(rows, cols, words);
+        int bands = (rows + BAND_ROWS - 1) / BAND_ROWS;
+        pool.submit(() -> IntStream.range(0, bands).parallel().forEach(b -> {
+            for (int r = b * BAND_ROWS, end = Math.min(rows, r + BAND_ROWS); r < end; r++) {
+                countRow(r, counts);
+            }
+        })).join();
+        return counts;
+    }
+
+    private void countRow(int r, Counts out) {
+        int above = (r - 1) * words, row = r * words, below = (r + 1) * words;
+        boolean hasAbove = r > 0, hasBelow = r + 1 < rows;
+        for (int w = 0; w < words; w++) {
+            boolean hasPrev = w > 0, hasNext = w + 1 < words;
+            long a = hasAbove ? bits[above + w] : 0;
+            long aPrev = hasAbove && hasPrev ? bits[above + w - 1] : 0;
+            long aNext = hasAbove && hasNext ? bits[above + w + 1] : 0;
+            long m = bits[row + w];
+            long mPrev = hasPrev ? bits[row + w - 1] : 0;
+            long mNext = hasNext ? bits[row + w + 1] : 0;
+            long b = hasBelow ? bits[below + w] : 0;
+            long bPrev = hasBelow && hasPrev ? bits[below + w - 1] : 0;
+            long bNext = hasBelow && hasNext ? bits[below + w + 1] : 0;
+
+            // Neighbour in column c - 1 lands on bit c, and column c + 1 too
+            long aL = (a << 1) | (aPrev >>> 63), aR = (a >>> 1) | (aNext << 63);
+            long mL = (m << 1) | (mPrev >>> 63), mR = (m >>> 1) | (mNext << 63);
+            long bL = (b << 1) | (bPrev >>> 63), bR = (b >>> 1) | (bNext << 63);
+
+            // Weight 1: three full / half adders, their carries have weight 2
+            long s1 = aL ^ a ^ aR, c1 = (aL & a) | (aR & (aL ^ a));
+            long s2 = mL ^ mR ^ bL, c2 = (mL & mR) | (bL & (mL ^ mR));
+            long s3 = b ^ bR, c3 = b & bR;
+            long bit0 = s1 ^ s2 ^ s3, k1 = (s1 & s2) | (s3 & (s1 ^ s2));
+            // Weight 2: c1, c2, c3, k1
+            long t = c1 ^ c2 ^ c3, k2 = (c1 & c2) | (c3 & (c1 ^ c2));
+            long bit1 = t ^ k1, k3 = t & k1;
+            // Weight 4: k2, k3, at most 8 neighbours so bit3 is only set for 8
+            int i = row + w;
+            out.planes[0][i] = bit0;
+            out.planes[1][i] = bit1;
+            out.planes[2][i] = k2 ^ k3;
+            out.planes[3][i] = k2 & k3;
+        }
+    }
+
+    private void checkCell(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside " + rows + "x" + cols);
+        }
+    }
+
+    /**
+     * Neighbour counts as 4 bit planes with the grid's layout.
+     */
+    static class Counts {
+        private final int rows;
+        private final int cols;
+        private final int words;
+        private final long[][] planes;
+
+        private Counts(int rows, int cols, int words) {
+            this.rows = rows;
+            this.cols = cols;
+            this.words = words;
+            this.planes = new long[4][rows * words];
+        }
+
+        int get(int row, int col) {
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside " + rows + "x" + cols);
+            }
+            int i = row * words + (col >>> 6);
+            int count = 0;
+            for (int k = 0; k < 4; k++) {
+                count |= (int) ((planes[k][i] >>> col) & 1) << k;
+            }
+            return count;
+        }
+
+        /**
+         * Same result as 08MineSweeper.minesweeper, only for boards that fit into an int[][].
+         */
+        int[][] toMatrix() {
+            int[][] result = new int[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    result[r][c] = get(r, c);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,3 +1,4 @@
+// Allocates a copy for a single rule. For many rules, in place or into a reused buffer, see 09_IntRemapper.java
 int[] arrayReplace(int[] inputArray, int elemToReplace, int substitutionElem) {
     return Arrays.stream(inputArray)
     .map(o -> o == elemToReplace ? substitutionElem : o)
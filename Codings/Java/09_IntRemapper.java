@@ -0,0 +1,152 @@
+import java.util.stream.IntStream;
+
+/**
+ * Bulk version of 09_ArrayReplace: many "from -> to" rules applied to big int arrays in place or into a
+ * caller supplied buffer, nothing is allocated per call. Returns how many elements matched a rule.
+ *
+ * The rules are a direct lookup table when the keys are dense (range at most DENSE_FACTOR times the rule
+ * count), otherwise an open addressing int -> int table with Fibonacci hashing. Arrays above
+ * PARALLEL_THRESHOLD are remapped in chunks on the common ForkJoinPool.
+ * If a key appears more than once in the rules, the last rule wins.
+ */
+class IntRemapper {
+    private static final int DENSE_FACTOR = 8;
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int CHUNK = 1 << 16;
+
+    private final boolean dense;
+    // Dense: value of key min + i, presence as bits
+    private final int min;
+    private final int[] table;
+    private final long[] present;
+    // Sparse: keys / values with linear probing, key 0 on the side
+    private final int[] keys;
+    private final int[] values;
+    private final int shift;
+    private final boolean hasZero;
+    private final int zeroValue;
+
+    private IntRemapper(int[] from, int[] to) {
+        int lo = Integer.MAX_VALUE, hi = Integer.MIN_VALUE;
+        for (int key : from) {
+            lo = Math.min(lo, key);
+            hi = Math.max(hi, key);
+        }
+        long range = (long) hi - lo + 1;
+        dense = from.length > 0 && range <= Math.max(64L, (long) from.length * DENSE_FACTOR);
+        if (dense) {
+            min = lo;
+            table = new int[(int) range];
+            present = new long[(int) ((range + 63) >>> 6)];
+            for (int i = 0; i < from.length; i++) {
+                int k = from[i] - lo;
+                table[k] = to[i];
+                present[k >>> 6] |= 1L << k;
+            }
+            keys = values = null;
+            shift = 0;
+            hasZero = false;
+            zeroValue = 0;
+        } else {
+            min = 0;
+            table = null;
+            present = null;
+            int capacity = Integer.highestOneBit(Math.max(4, from.length * 2) - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+            boolean zero = false;
+            int zeroTo = 0;
+            for (int i = 0; i < from.length; i++) {
+                if (from[i] == 0) {
+                    zero = true;
+                    zeroTo = to[i];
+                    continue;
+                }
+                int slot = slot(from[i]);
+                while (keys[slot] != 0 && keys[slot] != from[i]) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                keys[slot] = from[i];
+                values[slot] = to[i];
+            }
+            hasZero = zero;
+            zeroValue = zeroTo;
+        }
+    }
+
+    static IntRemapper of(int[] from, int[] to) {
+        if (from.length != to.length) {
+            throw new IllegalArgumentException("from and to have different lengths: " + from.length + ", " + to.length);
+        }
+        return new IntRemapper(from, to);
+    }
+
+    boolean isDense() {
+        return dense;
+    }
+
+    int remap(int[] data) {
+        return remap(data, data);
+    }
+
+    /**
+     * target[i] = rule(source[i]), or source[i] if no rule matches. target may be source.
+     */
+    int remap(int[] source, int[] target) {
+        if (target.length < source.length) {
+            throw new IllegalArgumentException("target is shorter than source: " + target.length + " < " + source.length);
+        }
+        if (source.length < PARALLEL_THRESHOLD) {
+            return remap(source, target, 0, source.length);
+        }
+        int chunks = (source.length + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, chunks).parallel()
+                .map(c -> remap(source, target, c * CHUNK, Math.min(source.length, (c + 1) * CHUNK)))
+                .sum();
+    }
+
+    private int remap(int[] source, int[] target, int from, int to) {
+        int replaced = 0;
+        if (dense) {
+            int size = table.length;
+            for (int i = from; i < to; i++) {
+                int v = source[i];
+                int k = v - min;
+                // Unsigned compare: keys below min wrap around to big values
+                if (Integer.compareUnsigned(k, size) < 0 && (present[k >>> 6] & (1L << k)) != 0) {
+                    v = table[k];
+                    replaced++;
+                }
+                target[i] = v;
+            }
+        } else {
+            int mask = keys.length - 1;
+            for (int i = from; i < to; i++) {
+                int v = source[i];
+                if (v == 0) {
+                    if (hasZero) {
+                        v = zeroValue;
+                        replaced++;
+                    }
+                } else {
+                    int slot = slot(v);
+                    int key;
+                    while ((key = keys[slot]) != 0 && key != v) {
+                        slot = (slot + 1) & mask;
+                    }
+                    if (key != 0) {
+                        v = values[slot];
+                        replaced++;
+                    }
+                }
+                target[i] = v;
+            }
+        }
+        return replaced;
+    }
+
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
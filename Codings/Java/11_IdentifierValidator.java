@@ -0,0 +1,159 @@
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Table driven version of 11_variableName: the grammar [a-zA-Z_][a-zA-Z0-9_]* as a 3 state DFA.
+ * Every ASCII char is mapped to a class by a 128 entry table, folded into the transitions, so the next state
+ * is one array read: no regex engine and no allocation per name.
+ *
+ * Unicode mode accepts Java identifiers instead (Character.isJavaIdentifierStart / Part, so '$' and
+ * non ASCII letters too). ASCII chars still go through the table, only the rest calls Character.
+ */
+class IdentifierValidator {
+    private static final byte OTHER = 0, START = 1, PART = 2;
+    private static final int CLASSES = 3;
+    private static final byte BEGIN = 0, IDENTIFIER = 1, REJECT = 2;
+    /** next[state * CLASSES + class] */
+    private static final byte[] NEXT = {
+            // OTHER   START       PART
+            REJECT, IDENTIFIER, REJECT,     // BEGIN: digits can't start a name
+            REJECT, IDENTIFIER, IDENTIFIER, // IDENTIFIER
+            REJECT, REJECT, REJECT          // REJECT
+    };
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    // After NEXT, the constructor needs it
+    static final IdentifierValidator ASCII = new IdentifierValidator(false);
+    static final IdentifierValidator UNICODE = new IdentifierValidator(true);
+
+    private final boolean unicode;
+    /** Class table and NEXT folded together for ASCII: ascii[state << 7 | c] */
+    private final byte[] ascii = new byte[3 << 7];
+    /** 1 if the ASCII char moves IDENTIFIER to REJECT. */
+    private final byte[] rejectsIdentifier = new byte[128];
+
+    private IdentifierValidator(boolean unicode) {
+        this.unicode = unicode;
+        byte[] classes = new byte[128];
+        for (int c = 0; c < 128; c++) {
+            classes[c] = charClass(c);
+        }
+        for (int state = 0; state < 3; state++) {
+            for (int c = 0; c < 128; c++) {
+                ascii[state << 7 | c] = NEXT[state * CLASSES + classes[c]];
+            }
+        }
+        for (int c = 0; c < 128; c++) {
+            rejectsIdentifier[c] = (byte) (ascii[IDENTIFIER << 7 | c] == REJECT ? 1 : 0);
+        }
+    }
+
+    boolean isValid(CharSequence name) {
+        int n = name.length();
+        if (n == 0) return false;
+        char first = name.charAt(0);
+        if (first < 128) {
+            if (ascii[first] != IDENTIFIER) return false;
+            // From IDENTIFIER the only other state is the absorbing REJECT, so the rest of the name is valid iff
+            // no char is rejected from IDENTIFIER. ORing the lookups avoids a chain of dependent table loads.
+            int bad = 0;
+            for (int i = 1; i < n; i++) {
+                char c = name.charAt(i);
+                bad |= (c >>> 7) << 1 | rejectsIdentifier[c & 0x7F];
+            }
+            // Bit 0: a rejected ASCII char, higher bits: a non ASCII char
+            if (bad == 0) return true;
+            if ((bad & 1) != 0 && (bad >>> 1) == 0 || !unicode) return false;
+        } else if (!unicode) {
+            return false;
+        }
+        return walk(name);
+    }
+
+    /** The DFA one code point at a time, for names with non ASCII chars. */
+    private boolean walk(CharSequence name) {
+        int state = BEGIN;
+        for (int i = 0, n = name.length(); i < n && state != REJECT; ) {
+            int c = Character.codePointAt(name, i);
+            state = c < 128 ? ascii[state << 7 | c] : NEXT[state * CLASSES + charClass(c)];
+            i += Character.charCount(c);
+        }
+        return state == IDENTIFIER;
+    }
+
+    /**
+     * Bit i is set if names[i] is valid. Big batches are checked in parallel.
+     */
+    BitSet validate(CharSequence[] names) {
+        long[] words = new long[(names.length + 63) >>> 6];
+        IntStream blocks = IntStream.range(0, words.length);
+        if (names.length >= PARALLEL_THRESHOLD) blocks = blocks.parallel();
+        // Every task owns whole words of the bitset
+        blocks.forEach(w -> {
+            long bits = 0;
+            for (int i = w << 6, end = Math.min(names.length, i + 64); i < end; i++) {
+                if (isValid(names[i])) bits |= 1L << i;
+            }
+            words[w] = bits;
+        });
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * One name per line ('\n', an optional '\r' before it is ignored) from position to limit, UTF-8 in unicode mode.
+     * Bit i is set if line i is valid. A final newline does not start another line. The buffer position is not changed.
+     */
+    BitSet validate(ByteBuffer lines) {
+        BitSet valid = new BitSet();
+        int line = 0;
+        int state = BEGIN;
+        int end = lines.limit();
+        for (int i = lines.position(); i < end; ) {
+            int b = lines.get(i++);
+            if (b == '\n') {
+                if (state == IDENTIFIER) valid.set(line);
+                line++;
+                state = BEGIN;
+                continue;
+            }
+            if (b == '\r' && (i == end || lines.get(i) == '\n')) continue;
+            if (state == REJECT) continue;
+            int c = b;
+            if (b < 0) {
+                if (!unicode) {
+                    state = REJECT;
+                    continue;
+                }
+                // Multi byte UTF-8 sequence, a broken one rejects the line
+                int extra = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : (b & 0xF8) == 0xF0 ? 3 : -1;
+                c = extra == 1 ? b & 0x1F : extra == 2 ? b & 0x0F : b & 0x07;
+                for (int k = 0; k < extra && c >= 0; k++) {
+                    int next = i < end ? lines.get(i) : '\n';
+                    if ((next & 0xC0) != 0x80) {
+                        c = -1;
+                    } else {
+                        c = (c << 6) | (next & 0x3F);
+                        i++;
+                    }
+                }
+                if (extra < 0 || c < 0) {
+                    state = REJECT;
+                    continue;
+                }
+            }
+            state = c < 128 ? ascii[state << 7 | c] : NEXT[state * CLASSES + charClass(c)];
+        }
+        if (end > lines.position() && lines.get(end - 1) != '\n' && state == IDENTIFIER) valid.set(line);
+        return valid;
+    }
+
+    private byte charClass(int c) {
+        if (unicode) {
+            if (Character.isJavaIdentifierStart(c)) return START;
+            return Character.isJavaIdentifierPart(c) ? PART : OTHER;
+        }
+        if (c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) return START;
+        return c >= '0' && c <= '9' ? PART : OTHER;
+    }
+}
@@ -1,4 +1,26 @@
+// [a-zA-Z_][a-zA-Z0-9_]* as a DFA instead of String.matches, which compiles the regex on every call.
+// States: 0 = start, 1 = valid name so far, 2 = rejected. Batches / Unicode: see 11_IdentifierValidator.java
+static final byte[] VARIABLE_NAME_DFA = variableNameDfa();
+
+static byte[] variableNameDfa() {
+    // next[state << 7 | c] for ASCII c, everything not listed goes to 2
+    byte[] next = new byte[3 << 7];
+    java.util.Arrays.fill(next, (byte) 2);
+    for (int c = 0; c < 128; c++) {
+        boolean start = c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        boolean part = start || (c >= '0' && c <= '9');
+        if (start) next[c] = 1;
+        if (part) next[1 << 7 | c] = 1;
+    }
+    return next;
+}
+
 boolean variableName(String name) {
     //return Pattern.compile("^[a-zA-z_][\\w\\d]*$").matcher(name).matches();
-    return name.matches("[a-zA-Z_][a-zA-Z0-9_]*");
+    int state = 0;
+    for (int i = 0; i < name.length() && state != 2; i++) {
+        char c = name.charAt(i);
+        state = c < 128 ? VARIABLE_NAME_DFA[state << 7 | c] : 2;
+    }
+    return state == 1;
 }
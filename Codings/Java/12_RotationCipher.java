@@ -0,0 +1,116 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Caesar / ROT-n over ASCII letters, the streaming version of 12_alphabeticShift. Case is kept,
+ * every other byte (digits, punctuation, UTF-8 continuation bytes, ...) passes through unchanged.
+ *
+ * The whole transform is a 256 entry byte -> byte table, so a byte costs one load from L1, no branches.
+ * Files are cut into CHUNK sized pieces that are mapped, copied into a per thread array, translated there
+ * and written back with positional writes, all in parallel on the ForkJoinPool.
+ */
+class RotationCipher {
+    static final int CHUNK = 1 << 24;
+
+    private final int shift;
+    private final byte[] table = new byte[256];
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[CHUNK]);
+
+    /**
+     * Any shift, negative ones rotate backwards (-1 turns 'a' into 'z').
+     */
+    RotationCipher(int shift) {
+        this.shift = Math.floorMod(shift, 26);
+        for (int b = 0; b < 256; b++) {
+            int c = b;
+            if (c >= 'a' && c <= 'z') {
+                c = 'a' + (c - 'a' + this.shift) % 26;
+            } else if (c >= 'A' && c <= 'Z') {
+                c = 'A' + (c - 'A' + this.shift) % 26;
+            }
+            table[b] = (byte) c;
+        }
+    }
+
+    /**
+     * The cipher that undoes this one.
+     */
+    RotationCipher reverse() {
+        return new RotationCipher(-shift);
+    }
+
+    String apply(CharSequence text) {
+        char[] result = new char[text.length()];
+        for (int i = 0; i < result.length; i++) {
+            char c = text.charAt(i);
+            result[i] = c < 128 ? (char) table[c] : c;
+        }
+        return new String(result);
+    }
+
+    void apply(byte[] data, int from, int to) {
+        byte[] t = table;
+        for (int i = from; i < to; i++) {
+            data[i] = t[data[i] & 0xFF];
+        }
+    }
+
+    /**
+     * Translates source's remaining bytes into target (which can be the same buffer), both positions advance.
+     */
+    void apply(ByteBuffer source, ByteBuffer target) {
+        if (target.remaining() < source.remaining()) throw new IllegalArgumentException("target too small");
+        byte[] t = table;
+        if (source.hasArray() && target.hasArray()) {
+            byte[] in = source.array(), out = target.array();
+            int from = source.arrayOffset() + source.position();
+            int to = target.arrayOffset() + target.position();
+            int n = source.remaining();
+            for (int i = 0; i < n; i++) {
+                out[to + i] = t[in[from + i] & 0xFF];
+            }
+            source.position(source.limit());
+            target.position(target.position() + n);
+            return;
+        }
+        while (source.hasRemaining()) {
+            target.put(t[source.get() & 0xFF]);
+        }
+    }
+
+    /**
+     * Writes the transform of the whole input file to the output file (from position 0 on both),
+     * chunks in parallel, and truncates the output to the input's size. Returns the number of bytes written.
+     */
+    long transform(FileChannel in, FileChannel out, ForkJoinPool pool) throws IOException {
+        long size = in.size();
+        int chunks = (int) ((size + CHUNK - 1) / CHUNK);
+        try {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                long from = (long) c * CHUNK;
+                int length = (int) Math.min(CHUNK, size - from);
+                try {
+                    byte[] data = buffers.get();
+                    in.map(FileChannel.MapMode.READ_ONLY, from, length).get(data, 0, length);
+                    apply(data, 0, length);
+                    ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+                    long position = from;
+                    while (buffer.hasRemaining()) {
+                        position += out.write(buffer, position);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            })).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // An existing longer output file would keep its old tail
+        out.truncate(size);
+        return size;
+    }
+}
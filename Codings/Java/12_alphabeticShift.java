@@ -1,3 +1,4 @@
+// Lowercase only input, 'z' wraps to 'a'. Any shift, case and files: see 12_RotationCipher.java
 String alphabeticShift(String inputString) {
     char[] ss = inputString.toCharArray();
     for (int i = 0; i < ss.length; ++i) {
@@ -7,6 +7,7 @@ public class Main {
         System.out.println(resumt.toString());
     }
 
+    // Keeps all n strings in memory, for big n stream it with FizzBuzzWriter (14_FizzBuzzWriter.java)
     public static List<String> alternativeFizzBuzz(final int n) {
         final List<String> toReturn = new ArrayList<>(n);
         for (int i = 1; i <= n; i++) {
@@ -0,0 +1,176 @@
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * FizzBuzz 1..n, one entry per line, straight into a channel. The streaming version of 14_FizzBuzz.
+ *
+ * - The current number is kept as ASCII digits and incremented in place (carry over the '9's),
+ *   so there is no division and no Integer.toString / String allocation per number.
+ * - Blocks start on a multiple of 15, and a block is a sequence of unrolled 15 number cycles.
+ * - Blocks are formatted in parallel, every block straight into its own reusable direct ByteBuffer, and at most
+ *   2 * parallelism blocks are in flight. The calling thread writes the buffers to the channel in order.
+ *
+ * Usage: java FizzBuzzWriter 1000000000 > /dev/null
+ */
+public class FizzBuzzWriter {
+    private static final long CYCLES_PER_BLOCK = 1 << 14;
+    private static final long BLOCK = 15 * CYCLES_PER_BLOCK;
+    private static final byte[] FIZZ = "Fizz\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BUZZ = "Buzz\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FIZZ_BUZZ = "FizzBuzz\n".getBytes(StandardCharsets.US_ASCII);
+    /** Longest block: 15 * CYCLES_PER_BLOCK lines of at most 19 digits + '\n'. */
+    private static final int BLOCK_BYTES = (int) (BLOCK * 20);
+
+    private final ForkJoinPool pool;
+
+    public FizzBuzzWriter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static void main(String[] argv) throws IOException {
+        long n = argv.length > 0 ? Long.parseLong(argv[0]) : 100;
+        try (FileOutputStream out = new FileOutputStream(FileDescriptor.out)) {
+            new FizzBuzzWriter(ForkJoinPool.commonPool()).write(n, out.getChannel());
+        }
+    }
+
+    /**
+     * Writes FizzBuzz for 1..n and returns the number of bytes written.
+     */
+    public long write(long n, WritableByteChannel channel) throws IOException {
+        long blocks = (n + BLOCK - 1) / BLOCK;
+        int window = (int) Math.min(blocks, 2L * pool.getParallelism());
+        List<CompletableFuture<Block>> inFlight = new ArrayList<>(window);
+        for (int i = 0; i < window; i++) {
+            inFlight.add(format(new Block(), i, n));
+        }
+        long written = 0;
+        for (long b = 0; b < blocks; b++) {
+            int slot = (int) (b % window);
+            Block block = inFlight.get(slot).join();
+            written += flush(block.buffer, channel);
+            if (b + window < blocks) {
+                inFlight.set(slot, format(block, b + window, n));
+            }
+        }
+        return written;
+    }
+
+    private CompletableFuture<Block> format(Block block, long index, long n) {
+        long first = index * BLOCK + 1;
+        return CompletableFuture.supplyAsync(() -> block.fill(first, Math.min(n, first + BLOCK - 1)), pool);
+    }
+
+    private static int flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return length;
+    }
+
+    /**
+     * Reusable direct output buffer plus the decimal counter, right aligned in digits[start, 20).
+     */
+    private static final class Block {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_BYTES);
+        final byte[] digits = new byte[20];
+        int start;
+
+        /** Formats first..last, first is 1 mod 15. */
+        Block fill(long first, long last) {
+            setCounter(first);
+            buffer.clear();
+            long i = first;
+            for (; i + 14 <= last; i += 15) {
+                cycle();
+            }
+            for (; i <= last; i++) {
+                long r = i % 15;
+                if (r == 0) {
+                    word(FIZZ_BUZZ);
+                } else if (r % 3 == 0) {
+                    word(FIZZ);
+                } else if (r % 5 == 0) {
+                    word(BUZZ);
+                } else {
+                    number();
+                }
+                increment();
+            }
+            buffer.flip();
+            return this;
+        }
+
+        /** The 15 entries of i + 0 .. i + 14 with i = 1 mod 15. */
+        private void cycle() {
+            number();
+            increment();
+            number();
+            increment();
+            word(FIZZ);
+            increment();
+            number();
+            increment();
+            word(BUZZ);
+            increment();
+            word(FIZZ);
+            increment();
+            number();
+            increment();
+            number();
+            increment();
+            word(FIZZ);
+            increment();
+            word(BUZZ);
+            increment();
+            number();
+            increment();
+            word(FIZZ);
+            increment();
+            number();
+            increment();
+            number();
+            increment();
+            word(FIZZ_BUZZ);
+            increment();
+        }
+
+        private void setCounter(long value) {
+            start = 20;
+            do {
+                digits[--start] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+        }
+
+        private void increment() {
+            int i = 19;
+            while (i >= start && digits[i] == '9') {
+                digits[i--] = '0';
+            }
+            if (i < start) {
+                start = i;
+                digits[i] = '1';
+            } else {
+                digits[i]++;
+            }
+        }
+
+        private void number() {
+            buffer.put(digits, start, 20 - start).put((byte) '\n');
+        }
+
+        private void word(byte[] word) {
+            buffer.put(word);
+        }
+    }
+}
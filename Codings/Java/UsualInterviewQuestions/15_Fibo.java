@@ -1,28 +1,26 @@
-import com.sun.javaws.exceptions.InvalidArgumentException;
-
 import java.util.ArrayList;
 import java.util.List;
 
 public class Main {
 
     public static void main(String[] args) {
-        try {
-            List<Integer> result = fiboSequenceUntil(18);
-            System.out.println(result.toString());
-        } catch (InvalidArgumentException e) {
-            e.printStackTrace();
-        }
+        List<Long> result = fiboSequenceUntil(18);
+        System.out.println(result.toString());
     }
 
-    private static List<Integer> fiboSequenceUntil(int n) throws InvalidArgumentException {
-        List<Integer> result = new ArrayList<>();
+    // Eager, n <= 92 (longer sequences don't fit into a long). For lazy / BigInteger / parallel
+    // sequences see FibonacciSpliterator (15_FibonacciSpliterator.java)
+    private static List<Long> fiboSequenceUntil(int n) {
         if (n <= 0)
             throw new IllegalArgumentException("n must be greater than zero!");
+        if (n > 92)
+            throw new IllegalArgumentException("F(" + n + ") does not fit into a long");
 
-        result.add(1);
+        List<Long> result = new ArrayList<>(n);
+        result.add(1L);
         if (n == 1)
             return result;
-        result.add(1);
+        result.add(1L);
         if (n == 2)
             return result;
 
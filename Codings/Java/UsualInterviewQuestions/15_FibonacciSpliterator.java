@@ -0,0 +1,177 @@
+import java.math.BigInteger;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy Fibonacci terms F(from) .. F(to - 1), with F(0) = 0, F(1) = F(2) = 1 (15_Fibo's list is F(1) .. F(n)).
+ *
+ * Nothing is materialized: a spliterator only holds the next two terms. Splitting just halves the index
+ * range, and a half computes its first two terms when it is first advanced, with fast doubling
+ * (F(2k) = F(k) * (2F(k+1) - F(k)), F(2k+1) = F(k)^2 + F(k+1)^2, O(log k) steps). So parallel streams
+ * can start anywhere in the sequence without walking up to it.
+ *
+ * long terms end at F(92), longs() rejects ranges beyond that.
+ */
+class FibonacciSpliterator {
+    static final int MAX_LONG_INDEX = 92;
+    private static final long MIN_SPLIT = 1 << 10;
+    /** There are only 93 long terms, and a half starts with an O(log k) pair(), so longs split much further. */
+    private static final long MIN_LONG_SPLIT = 8;
+
+    private FibonacciSpliterator() {
+    }
+
+    static LongStream longs(long from, long to) {
+        checkRange(from, to);
+        if (to > MAX_LONG_INDEX + 1) {
+            throw new IllegalArgumentException("F(" + (to - 1) + ") does not fit into a long, use bigIntegers");
+        }
+        return StreamSupport.longStream(new LongTerms(from, to), false);
+    }
+
+    static Stream<BigInteger> bigIntegers(long from, long to) {
+        checkRange(from, to);
+        return StreamSupport.stream(new BigTerms(from, to), false);
+    }
+
+    /** {F(k), F(k + 1)}, for k <= 91. */
+    static long[] pair(long k) {
+        long a = 0, b = 1;
+        for (int bit = 63 - Long.numberOfLeadingZeros(k); bit >= 0; bit--) {
+            long c = a * (2 * b - a);
+            long d = a * a + b * b;
+            if (((k >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c + d;
+            }
+        }
+        return new long[]{a, b};
+    }
+
+    /** {F(k), F(k + 1)}. */
+    static BigInteger[] bigPair(long k) {
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        for (int bit = 63 - Long.numberOfLeadingZeros(k); bit >= 0; bit--) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if (((k >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+        }
+        return new BigInteger[]{a, b};
+    }
+
+    private static void checkRange(long from, long to) {
+        if (from < 0 || to < from) throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+    }
+
+    static final class LongTerms implements Spliterator.OfLong {
+        private long index;
+        private final long end;
+        private boolean started;
+        private long current;
+        private long next;
+
+        LongTerms(long from, long to) {
+            this.index = from;
+            this.end = to;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= end) return false;
+            if (!started) {
+                // F(k + 1) for k = 92 would overflow, and it is never needed
+                long[] p = pair(Math.min(index, MAX_LONG_INDEX - 1));
+                current = index == MAX_LONG_INDEX ? p[1] : p[0];
+                next = index == MAX_LONG_INDEX ? 0 : p[1];
+                started = true;
+            }
+            action.accept(current);
+            index++;
+            if (index < end) {
+                long sum = current + next;
+                current = next;
+                next = sum;
+            }
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            if (started || end - index < MIN_LONG_SPLIT) return null;
+            long mid = index + (end - index) / 2;
+            LongTerms prefix = new LongTerms(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+
+    static final class BigTerms implements Spliterator<BigInteger> {
+        private long index;
+        private final long end;
+        private BigInteger current;
+        private BigInteger next;
+
+        BigTerms(long from, long to) {
+            this.index = from;
+            this.end = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super BigInteger> action) {
+            if (index >= end) return false;
+            if (current == null) {
+                BigInteger[] p = bigPair(index);
+                current = p[0];
+                next = p[1];
+            }
+            action.accept(current);
+            index++;
+            BigInteger sum = current.add(next);
+            current = next;
+            next = sum;
+            return true;
+        }
+
+        @Override
+        public Spliterator<BigInteger> trySplit() {
+            if (current != null || end - index < MIN_SPLIT) return null;
+            long mid = index + (end - index) / 2;
+            BigTerms prefix = new BigTerms(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
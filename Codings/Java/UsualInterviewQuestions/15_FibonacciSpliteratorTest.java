@@ -0,0 +1,35 @@
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class FibonacciSpliteratorTest {
+
+    @Test
+    public void longTermsSplit() throws Exception {
+        Spliterator.OfLong rest = new FibonacciSpliterator.LongTerms(0, FibonacciSpliterator.MAX_LONG_INDEX + 1);
+        Spliterator.OfLong prefix = rest.trySplit();
+        assertNotNull(prefix);
+        assertEquals(FibonacciSpliterator.MAX_LONG_INDEX + 1, prefix.estimateSize() + rest.estimateSize());
+    }
+
+    @Test
+    public void parallelLongsMatchSequential() throws Exception {
+        long[] expected = new long[FibonacciSpliterator.MAX_LONG_INDEX + 1];
+        expected[1] = 1;
+        for (int i = 2; i < expected.length; i++) {
+            expected[i] = expected[i - 1] + expected[i - 2];
+        }
+        assertArrayEquals(expected, FibonacciSpliterator.longs(0, expected.length).parallel().toArray());
+    }
+
+    @Test
+    public void parallelBigIntegersMatchLongs() throws Exception {
+        assertEquals(
+                FibonacciSpliterator.longs(40, 93).mapToObj(BigInteger::valueOf).collect(Collectors.toList()),
+                FibonacciSpliterator.bigIntegers(40, 93).parallel().collect(Collectors.toList()));
+    }
+}
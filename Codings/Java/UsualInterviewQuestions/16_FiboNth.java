@@ -1,32 +1,176 @@
-import java.util.HashMap;
-import java.util.Map;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Main {
     public static void  main(String[] args) {
         Fibo obj = new Fibo();
         System.out.println(obj.cachedFibN(14));
+        System.out.println(obj.fib(92));
+        System.out.println(obj.fibMod(1_000_000_000_000L, 1_000_000_007L));
+        System.out.println(obj.fibBig(10_000).bitLength());
     }
 }
 
-class Fibo{
-    private Map<Integer, Integer> fibCache = new HashMap<>();
+/**
+ * Fast doubling: from (F(k), F(k+1)) one step gives (F(2k), F(2k+1)) or (F(2k+1), F(2k+2)),
+ * F(2k) = F(k) * (2F(k+1) - F(k)) and F(2k+1) = F(k)^2 + F(k+1)^2. Walking the bits of n from the top
+ * gives F(n) in O(log n) steps, no recursion. A Fibo instance can be shared between threads.
+ */
+class Fibo {
+    /** Default budget of the checkpoint cache, counted in BigInteger bits. */
+    private static final long DEFAULT_CACHE_BYTES = 32L << 20;
+    /** Checkpoints are only worth keeping when the terms have some size. */
+    private static final long MIN_CHECKPOINT = 1 << 14;
+
+    // (F(k), F(k+1)) for indices k that were a prefix of some n, the walk for n starts at its longest cached prefix.
+    // ConcurrentHashMap reads don't lock. The map is bounded by the total bitLength of the stored values,
+    // a single F(k) near 10^9 alone is ~80 MB, so an entry count would say nothing about memory.
+    private final ConcurrentHashMap<Long, BigInteger[]> checkpoints = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBits = new AtomicLong();
+    private final long budgetBits;
+
+    Fibo() {
+        this(DEFAULT_CACHE_BYTES);
+    }
+
+    /**
+     * @param cacheBytes upper bound for the BigInteger magnitudes kept as checkpoints, 0 disables the cache
+     */
+    Fibo(long cacheBytes) {
+        if (cacheBytes < 0) throw new IllegalArgumentException("cacheBytes must not be negative: " + cacheBytes);
+        this.budgetBits = cacheBytes * 8;
+    }
+
+    long cachedBytes() {
+        return cachedBits.get() / 8;
+    }
 
     public int cachedFibN(int n) {
         if (n < 0) {
             throw new IllegalArgumentException(
                     "n must not be less than zero");
         }
-        fibCache.put(0, 0);
-        fibCache.put(1, 1);
-        return recursiveCachedFibN(n);
+        if (n > 46) {
+            throw new ArithmeticException("F(" + n + ") does not fit into an int");
+        }
+        return (int) fib(n);
+    }
+
+    /**
+     * F(n) for n <= 92.
+     */
+    public long fib(long n) {
+        if (n < 0) throw new IllegalArgumentException("n must not be less than zero");
+        if (n > 92) throw new ArithmeticException("F(" + n + ") does not fit into a long");
+        long a = 0, b = 1;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long c = a * (2 * b - a);
+            long d = a * a + b * b;
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c + d;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * F(n) mod m for any n >= 0 and 1 <= m.
+     */
+    public long fibMod(long n, long m) {
+        if (n < 0) throw new IllegalArgumentException("n must not be less than zero");
+        if (m < 1) throw new IllegalArgumentException("m must be positive: " + m);
+        long a = 0, b = 1 % m;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long c = mulMod(a, Math.floorMod(addMod(b, b, m) - a, m), m);
+            long d = addMod(mulMod(a, a, m), mulMod(b, b, m), m);
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = addMod(c, d, m);
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Exact F(n). The squares and products are done by BigInteger, which switches to Karatsuba and
+     * Toom-Cook on its own once the numbers are big, which is where all the time goes.
+     */
+    public BigInteger fibBig(long n) {
+        if (n < 0) throw new IllegalArgumentException("n must not be less than zero");
+        BigInteger a = BigInteger.ZERO, b = BigInteger.ONE;
+        int bit = 63 - Long.numberOfLeadingZeros(n);
+        // Longest prefix of n that is already known
+        for (int shift = 0; shift <= bit; shift++) {
+            long prefix = n >>> shift;
+            if (prefix < MIN_CHECKPOINT) break;
+            BigInteger[] known = checkpoints.get(prefix);
+            if (known != null) {
+                a = known[0];
+                b = known[1];
+                bit = shift - 1;
+                break;
+            }
+        }
+        for (; bit >= 0; bit--) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
+            long prefix = n >>> bit;
+            if (prefix >= MIN_CHECKPOINT) remember(prefix, a, b);
+        }
+        return a;
+    }
+
+    private void remember(long k, BigInteger fk, BigInteger fk1) {
+        long bits = bits(fk, fk1);
+        if (bits > budgetBits || checkpoints.containsKey(k)) return;
+        if (checkpoints.putIfAbsent(k, new BigInteger[]{fk, fk1}) == null) {
+            cachedBits.addAndGet(bits);
+        }
+        // No LRU bookkeeping on the read path, just drop entries until the budget holds again.
+        // Only the thread whose remove succeeds subtracts, so the counter stays exact under races.
+        Iterator<Long> keys = checkpoints.keySet().iterator();
+        while (cachedBits.get() > budgetBits && keys.hasNext()) {
+            BigInteger[] removed = checkpoints.remove(keys.next());
+            if (removed != null) cachedBits.addAndGet(-bits(removed[0], removed[1]));
+        }
+    }
+
+    private static long bits(BigInteger fk, BigInteger fk1) {
+        return (long) fk.bitLength() + fk1.bitLength();
+    }
+
+    private static long addMod(long x, long y, long m) {
+        long sum = x + y;
+        // x, y < m <= 2^63 - 1: an overflow or sum >= m means subtract once
+        return sum < 0 || sum >= m ? sum - m : sum;
     }
 
-    private int recursiveCachedFibN(int n) {
-        if (fibCache.containsKey(n)) {
-            return fibCache.get(n);
+    /** x * y mod m for x, y in [0, m). */
+    private static long mulMod(long x, long y, long m) {
+        // Below sqrt(2^63) the product fits into a long
+        if (m <= 3037000499L) return x * y % m;
+        // Double and add, never overflows because both operands stay below m
+        long result = 0;
+        for (long base = x; y > 0; y >>>= 1) {
+            if ((y & 1) != 0) result = addMod(result, base, m);
+            base = addMod(base, base, m);
         }
-        int value = recursiveCachedFibN(n - 1) + recursiveCachedFibN(n - 2);
-        fibCache.put(n, value);
-        return value;
+        return result;
     }
 }
@@ -0,0 +1,167 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact n! and binomial(n, k) as BigInteger, the big version of 17_factorialWithourRecursion.
+ *
+ * - Products are product trees: multiplying neighbours pairwise keeps both operands of every BigInteger
+ *   multiplication about the same size, so Karatsuba / Toom-Cook kick in (a running product multiplies a huge
+ *   number by a tiny one n times). The leaves pack as many small factors into one long as fit.
+ * - factorial uses the prime swing: n! = (n/2)!^2 * swing(n), swing(n) = product of p^e over the primes p <= n,
+ *   e = sum over i of floor(n / p^i) mod 2. So a big part of the work is one squaring per level,
+ *   and the levels n, n/2, n/4, ... are done bottom up in a loop.
+ * - binomial(n, k) is the product of p^e with e = sum over i of floor(n/p^i) - floor(k/p^i) - floor((n-k)/p^i).
+ * - Both halves of a big product tree are computed in parallel on the ForkJoinPool.
+ */
+class FactorialEngine {
+    /** Small n: the plain product tree of 2..n is cheaper than sieving. */
+    private static final int SWING_THRESHOLD = 256;
+    private static final int PARALLEL_LEAVES = 64;
+
+    private final ForkJoinPool pool;
+    private int[] primes = new int[0];
+    private int sieved = 1;
+
+    FactorialEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    BigInteger factorial(int n) {
+        if (n < 0) throw new IllegalArgumentException("n must not be negative: " + n);
+        if (n < SWING_THRESHOLD) return product(range(2, n));
+        int[] p = primesUpTo(n);
+        int levels = 32 - Integer.numberOfLeadingZeros(n / SWING_THRESHOLD);
+        // Start with the smallest level that is still below the threshold
+        BigInteger result = product(range(2, n >>> levels));
+        for (int level = levels - 1; level >= 0; level--) {
+            int m = n >>> level;
+            result = result.multiply(result).multiply(product(swingFactors(m, p)));
+        }
+        return result;
+    }
+
+    BigInteger binomial(int n, int k) {
+        if (n < 0 || k < 0 || k > n) throw new IllegalArgumentException("Invalid binomial(" + n + ", " + k + ")");
+        k = Math.min(k, n - k);
+        if (k == 0) return BigInteger.ONE;
+        int[] p = primesUpTo(n);
+        long[] factors = new long[p.length];
+        int count = 0;
+        for (int prime : p) {
+            if (prime > n) break;
+            int e = 0;
+            for (long q = prime; q <= n; q *= prime) {
+                e += (int) (n / q - k / q - (n - k) / q);
+            }
+            long power = 1;
+            for (int i = 0; i < e; i++) power *= prime;
+            if (e > 0) factors[count++] = power;
+        }
+        return product(Arrays.copyOf(factors, count));
+    }
+
+    /**
+     * The prime powers whose product is swing(m) = m! / (m/2)!^2. Every power is at most m.
+     */
+    private static long[] swingFactors(int m, int[] p) {
+        long[] factors = new long[p.length];
+        int count = 0;
+        for (int prime : p) {
+            if (prime > m) break;
+            long power = 1;
+            for (long q = prime; q <= m; q *= prime) {
+                if (((m / q) & 1) == 1) power *= prime;
+            }
+            if (power > 1) factors[count++] = power;
+        }
+        return Arrays.copyOf(factors, count);
+    }
+
+    private static long[] range(int from, int to) {
+        long[] values = new long[Math.max(0, to - from + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i;
+        }
+        return values;
+    }
+
+    /**
+     * Product of positive factors with a balanced tree, parallel for big inputs.
+     */
+    BigInteger product(long[] factors) {
+        long[] leaves = packLeaves(factors);
+        if (leaves.length == 0) return BigInteger.ONE;
+        ProductTask task = new ProductTask(leaves, 0, leaves.length);
+        // Small trees never fork: compute() would fork from this thread into the common pool
+        return leaves.length <= PARALLEL_LEAVES ? task.sequential(0, leaves.length) : pool.invoke(task);
+    }
+
+    /** Multiplies neighbours together while the product stays below 2^63. */
+    private static long[] packLeaves(long[] factors) {
+        long[] leaves = new long[factors.length];
+        int count = 0;
+        long current = 1;
+        for (long factor : factors) {
+            if (Math.multiplyHigh(current, factor) != 0 || current * factor < 0) {
+                leaves[count++] = current;
+                current = factor;
+            } else {
+                current *= factor;
+            }
+        }
+        if (current != 1) leaves[count++] = current;
+        return Arrays.copyOf(leaves, count);
+    }
+
+    private synchronized int[] primesUpTo(int n) {
+        if (n > sieved) {
+            boolean[] composite = new boolean[n + 1];
+            int count = 0;
+            int[] found = new int[Math.max(16, (int) (1.3 * n / Math.max(1, Math.log(n))) + 16)];
+            for (int i = 2; i <= n; i++) {
+                if (composite[i]) continue;
+                if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                found[count++] = i;
+                for (long j = (long) i * i; j <= n; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+            primes = Arrays.copyOf(found, count);
+            sieved = n;
+        }
+        return primes;
+    }
+
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] leaves;
+        private final int from;
+        private final int to;
+
+        ProductTask(long[] leaves, int from, int to) {
+            this.leaves = leaves;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from <= PARALLEL_LEAVES) return sequential(from, to);
+            int mid = (from + to) >>> 1;
+            ProductTask right = new ProductTask(leaves, mid, to);
+            right.fork();
+            BigInteger left = new ProductTask(leaves, from, mid).compute();
+            return left.multiply(right.join());
+        }
+
+        private BigInteger sequential(int lo, int hi) {
+            if (hi - lo == 1) return BigInteger.valueOf(leaves[lo]);
+            if (hi - lo == 2) return BigInteger.valueOf(leaves[lo]).multiply(BigInteger.valueOf(leaves[lo + 1]));
+            int mid = (lo + hi) >>> 1;
+            return sequential(lo, mid).multiply(sequential(mid, hi));
+        }
+    }
+}
@@ -1,3 +1,5 @@
+// long only holds up to 20!, multiplyExact throws instead of silently overflowing at 21.
+// Exact factorials and binomials of big n: FactorialEngine (17_FactorialEngine.java)
 public static long factorial(int n) {
   if (n < 1) {
     throw new IllegalArgumentException(
@@ -6,7 +8,7 @@ public static long factorial(int n) {
 
   long toReturn = 1;
   for (int i = 1; i <= n; i++) {
-    toReturn *= i;
+    toReturn = Math.multiplyExact(toReturn, i);
   }
   return toReturn;
 }
@@ -0,0 +1,260 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed arithmetic tables, the engine behind the table in CompetetiveProgramming.hackerearth.
+ *
+ * - digitTable: f(i) = f(i / 10) + weight(i % 10), e.g. the sum of the odd digits of i.
+ *   Computed in waves [1, 10), [10, 100), ... every wave only reads the previous ones, so a wave is filled in parallel.
+ * - divisorSums: g(n) = sum of f(d) over the divisors d of n, with a segmented sieve.
+ *   Every segment is small enough to stay in cache and is filled independently on a ForkJoinPool.
+ *   Divisors up to sqrt(n) are sieved directly, bigger divisors d are reached through their
+ *   cofactor k = n / d < sqrt(n), so no segment has to loop over all divisors.
+ * - MappedLongTable: the result can be built straight into a memory mapped file, later runs just map it.
+ *
+ * Usage:
+ *   byte[] f = ArithmeticTables.digitTable(n, ArithmeticTables.ODD_DIGITS, pool);
+ *   LongTable sums = ArithmeticTables.MappedLongTable.openOrBuild(path, n,
+ *           table -> ArithmeticTables.divisorSums(f, n, pool, table));
+ */
+public class ArithmeticTables {
+    /** 32K longs = 256 KB, fits into L2 on anything recent. */
+    static final int SEGMENT = 1 << 15;
+
+    public interface DigitWeight {
+        int of(int digit);
+    }
+
+    public static final DigitWeight ODD_DIGITS = d -> (d & 1) != 0 ? d : 0;
+    public static final DigitWeight DIGITS = d -> d;
+
+    public interface LongTable {
+        long get(int index);
+
+        int size();
+
+        /** Copies values[0, length) to the table starting at index from. */
+        void write(int from, long[] values, int length);
+    }
+
+    private ArithmeticTables() {
+    }
+
+    /**
+     * f(0 .. n) with f(i) = f(i / 10) + weight(i % 10). The weights must be at most 12,
+     * so even 10 digit numbers fit into a byte.
+     */
+    public static byte[] digitTable(int n, DigitWeight weight, ForkJoinPool pool) {
+        byte[] w = new byte[10];
+        for (int d = 0; d < 10; d++) {
+            int value = weight.of(d);
+            if (value < 0 || value > 12) throw new IllegalArgumentException("weight(" + d + ") must be in 0..12");
+            w[d] = (byte) value;
+        }
+        byte[] f = new byte[n + 1];
+        for (int i = 1; i <= Math.min(n, 9); i++) {
+            f[i] = w[i];
+        }
+        for (long from = 10; from <= n; from *= 10) {
+            int lo = (int) from;
+            int hi = (int) Math.min((long) n + 1, from * 10);
+            int chunks = (hi - lo + SEGMENT - 1) / SEGMENT;
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(c -> {
+                int end = Math.min(hi, lo + (c + 1) * SEGMENT);
+                // i / 10 and i % 10 are tracked instead of divided for every i
+                int start = lo + c * SEGMENT;
+                int q = start / 10, r = start % 10;
+                for (int i = start; i < end; i++) {
+                    f[i] = (byte) (f[q] + w[r]);
+                    if (++r == 10) {
+                        r = 0;
+                        q++;
+                    }
+                }
+            })).join();
+        }
+        return f;
+    }
+
+    /**
+     * out[i] = sum of f[d] over every divisor d of i, for i in 1 .. n (out[0] = 0).
+     */
+    public static void divisorSums(byte[] f, int n, ForkJoinPool pool, LongTable out) {
+        if (out.size() < n + 1) throw new IllegalArgumentException("Table too small for n = " + n);
+        int sqrt = (int) Math.sqrt(n);
+        int segments = (n + SEGMENT) / SEGMENT;
+        ThreadLocal<long[]> buffers = ThreadLocal.withInitial(() -> new long[SEGMENT]);
+        pool.submit(() -> IntStream.range(0, segments).parallel().forEach(s -> {
+            int lo = s * SEGMENT;
+            int hi = (int) Math.min((long) n + 1, (long) lo + SEGMENT);
+            long[] acc = buffers.get();
+            fillSegment(f, Math.max(lo, 1), hi, sqrt, acc);
+            if (lo == 0) {
+                // acc[0] holds index 1, shift the segment so index 0 is 0
+                System.arraycopy(acc, 0, acc, 1, hi - 1);
+                acc[0] = 0;
+            }
+            out.write(lo, acc, hi - lo);
+        })).join();
+    }
+
+    /**
+     * acc[i - lo] = sum of f[d] for d | i, for i in [lo, hi), lo >= 1.
+     */
+    static void fillSegment(byte[] f, int lo, int hi, int sqrt, long[] acc) {
+        int length = hi - lo;
+        Arrays.fill(acc, 0, length, 0);
+
+        // Divisors d <= sqrt: walk their multiples inside the segment
+        for (int d = 1, maxD = Math.min(sqrt, hi - 1); d <= maxD; d++) {
+            int fd = f[d];
+            if (fd == 0) continue;
+            long first = (lo + (long) d - 1) / d * d;
+            for (long m = first; m < hi; m += d) {
+                acc[(int) (m - lo)] += fd;
+            }
+        }
+
+        // Divisors d > sqrt: i = k * d with cofactor k = i / d < i / sqrt, walk the multiples of k
+        for (int k = 1; (long) k * (sqrt + 1) < hi; k++) {
+            long firstD = Math.max(sqrt + 1, (lo + (long) k - 1) / k);
+            int d = (int) firstD;
+            for (long m = firstD * k; m < hi; m += k, d++) {
+                acc[(int) (m - lo)] += f[d];
+            }
+        }
+    }
+
+    public static class HeapLongTable implements LongTable {
+        private final long[] values;
+
+        public HeapLongTable(int size) {
+            this.values = new long[size];
+        }
+
+        @Override
+        public long get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public void write(int from, long[] source, int length) {
+            System.arraycopy(source, 0, values, from, length);
+        }
+    }
+
+    /**
+     * Table of longs in a file: a 16 byte header (magic, size) followed by the values, mapped in 1 GB chunks.
+     * The magic is written last, so a table whose build was interrupted is rebuilt on the next open.
+     */
+    public static class MappedLongTable implements LongTable, AutoCloseable {
+        private static final long MAGIC = 0x5441424C45763031L;
+        private static final int HEADER = 16;
+        private static final int CHUNK_SHIFT = 27;
+        private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+        private final FileChannel channel;
+        private final int size;
+        private final MappedByteBuffer header;
+        private final MappedByteBuffer[] mapped;
+        private final LongBuffer[] chunks;
+
+        private MappedLongTable(FileChannel channel, int size) throws IOException {
+            this.channel = channel;
+            this.size = size;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            int count = (int) (((long) size + CHUNK_MASK) >>> CHUNK_SHIFT);
+            this.mapped = new MappedByteBuffer[count];
+            this.chunks = new LongBuffer[count];
+            for (int c = 0; c < count; c++) {
+                long first = (long) c << CHUNK_SHIFT;
+                long values = Math.min(size - first, 1L << CHUNK_SHIFT);
+                mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER + first * 8, values * 8);
+                chunks[c] = mapped[c].order(ByteOrder.nativeOrder()).asLongBuffer();
+            }
+        }
+
+        public interface Builder {
+            void build(MappedLongTable table) throws IOException;
+        }
+
+        /**
+         * Maps the file if it holds a complete table of n + 1 values, otherwise builds it first.
+         */
+        public static MappedLongTable openOrBuild(Path file, int n, Builder builder) throws IOException {
+            int size = n + 1;
+            long bytes = HEADER + (long) size * 8;
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                boolean complete = channel.size() == bytes;
+                // A leftover bigger table would fail the size check on every open, cut it to this table's size
+                if (channel.size() > bytes) channel.truncate(bytes);
+                MappedLongTable table = new MappedLongTable(channel, size);
+                if (complete && table.header.getLong(0) == MAGIC && table.header.getLong(8) == size) {
+                    return table;
+                }
+                table.header.putLong(0, 0);
+                builder.build(table);
+                for (MappedByteBuffer chunk : table.mapped) {
+                    chunk.force();
+                }
+                table.header.putLong(8, size);
+                table.header.putLong(0, MAGIC);
+                table.header.force();
+                return table;
+            } catch (Throwable e) {
+                // The table owns the channel only once it is returned
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public long get(int index) {
+            return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Thread safe as long as concurrent writes go to different ranges: every write positions
+         * its own duplicate of the chunk.
+         */
+        @Override
+        public void write(int from, long[] values, int length) {
+            int i = 0;
+            while (i < length) {
+                int index = from + i;
+                LongBuffer chunk = chunks[index >>> CHUNK_SHIFT];
+                int offset = index & CHUNK_MASK;
+                int n = Math.min(length - i, chunk.capacity() - offset);
+                LongBuffer target = chunk.duplicate();
+                target.position(offset);
+                target.put(values, i, n);
+                i += n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -26,15 +26,16 @@ public class Main {
     static class hackerearth {
         public void solve(int testNumber, InputReader in, PrintWriter out) {
             // out.print(1);
-            int ar[] = new int[(int) 1e6 + 2];
-            for (int i = 0; i < 1e6 + 2; i++) {
-                ar[i] = sum(i);
+            // For bigger tables see ArithmeticTables.java (parallel segmented sieve, memory mapped cache)
+            int max = 1000000;
+            int ar[] = new int[max + 2];
+            for (int i = 1; i < ar.length; i++) {
+                ar[i] = ar[i / 10] + oddDigit(i % 10);
             }
             long ans[] = new long[ar.length];
-            for (int i = 1; i < 1e6 + 1; i++) {
-                for (int j = i; j < 1e6 + 1; j += i) {
-                    if (j % i == 0)
-                        ans[j] += ar[i];
+            for (int i = 1; i <= max; i++) {
+                for (int j = i; j <= max; j += i) {
+                    ans[j] += ar[i];
                 }
 
             }
@@ -48,15 +49,8 @@ public class Main {
             }
         }
 
-        int sum(int x) {
-            String str = x + "";
-            int ans = 0;
-            for (int i = 0; i < str.length(); i++) {
-                if ((str.charAt(i) - '0') % 2 != 0) {
-                    ans += (str.charAt(i) - '0');
-                }
-            }
-            return ans;
+        int oddDigit(int digit) {
+            return digit % 2 != 0 ? digit : 0;
         }
 
     }
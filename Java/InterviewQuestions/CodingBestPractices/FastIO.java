@@ -0,0 +1,419 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+
+/**
+ * The InputReader of CompetetiveProgramming.java grown into a small I/O library for big numeric files.
+ *
+ * - FastReader parses int / long / double / tokens straight from bytes, no String per token.
+ *   The source is either an InputStream (copied through a 64 KB buffer) or a file mapped into memory
+ *   in windows of up to 1 GB, so multi-GB files are read without a single copy.
+ * - FastWriter formats numbers directly into a large ByteBuffer and hands it to a channel when full.
+ *
+ * Usage:
+ *   try (FastIO.FastReader in = FastIO.FastReader.map(path);
+ *        FastIO.FastWriter out = new FastIO.FastWriter(System.out)) {
+ *       while (in.hasNext()) out.println(in.nextLong());
+ *   }
+ */
+public class FastIO {
+
+    public static class FastReader implements Closeable {
+        private static final int MAP_WINDOW = 1 << 30;
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+        private static final long[] POWERS_OF_TEN_LONG = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+        private final InputStream stream;
+        private final FileChannel channel;
+        private final byte[] streamBuffer;
+        private ByteBuffer buf;
+        private long mappedUpTo;
+        private int pos;
+        private int limit;
+        /** Token of the current nextDouble, grows for long tokens. */
+        private byte[] scratch = new byte[64];
+
+        public FastReader(InputStream stream) {
+            this.stream = stream;
+            this.channel = null;
+            this.streamBuffer = new byte[1 << 16];
+            this.buf = ByteBuffer.wrap(streamBuffer, 0, 0).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private FastReader(FileChannel channel) {
+            this.stream = null;
+            this.channel = channel;
+            this.streamBuffer = null;
+            this.buf = ByteBuffer.allocate(0);
+        }
+
+        /**
+         * Reads the file through memory mapped windows. The reader owns and closes the channel.
+         */
+        public static FastReader map(Path file) throws IOException {
+            return new FastReader(FileChannel.open(file, StandardOpenOption.READ));
+        }
+
+        /**
+         * Next byte as 0..255, or -1 at the end of the input.
+         */
+        public int read() {
+            if (pos == limit && !refill()) return -1;
+            return buf.get(pos++) & 0xFF;
+        }
+
+        /**
+         * Skips whitespace. False if only whitespace was left.
+         */
+        public boolean hasNext() {
+            int c;
+            do {
+                if (pos == limit && !refill()) return false;
+                c = buf.get(pos++) & 0xFF;
+            } while (isSpaceChar(c));
+            pos--;
+            return true;
+        }
+
+        public int nextInt() {
+            long value = nextLong();
+            if (value != (int) value) throw new InputMismatchException("int overflow: " + value);
+            return (int) value;
+        }
+
+        /**
+         * While at least 8 bytes are left in the window, digits are parsed 8 at a time (SWAR):
+         * one getLong, a mask that finds the first non-digit byte, and three multiplications
+         * that turn up to 8 ASCII digits into their value. The tail of a window goes byte by byte.
+         * Values outside the long range throw instead of wrapping.
+         */
+        public long nextLong() {
+            int c = skipSpace();
+            boolean negative = c == '-';
+            if (negative || c == '+') c = read();
+            if (c < '0' || c > '9') throw new InputMismatchException("not a number");
+            // Magnitude as an unsigned long, -Long.MIN_VALUE fits
+            long max = negative ? Long.MIN_VALUE : Long.MAX_VALUE;
+            long res = c - '0';
+
+            while (limit - pos >= 8) {
+                long x = buf.getLong(pos) - 0x3030303030303030L;
+                long nonDigits = (x | (x + 0x7676767676767676L)) & 0x8080808080808080L;
+                int n = Long.numberOfTrailingZeros(nonDigits) >>> 3;
+                if (n > 0) {
+                    long digits = eightDigits(x << ((8 - n) << 3));
+                    // Below 10^10 another 8 digits can't overflow
+                    res = res < 10_000_000_000L ? res * POWERS_OF_TEN_LONG[n] + digits
+                            : append(res, POWERS_OF_TEN_LONG[n], digits, max);
+                    pos += n;
+                }
+                if (n < 8) {
+                    c = buf.get(pos++) & 0xFF;
+                    if (!isSpaceChar(c)) throw new InputMismatchException("unexpected character: " + (char) c);
+                    return negative ? -res : res;
+                }
+            }
+
+            c = read();
+            while (c >= '0' && c <= '9') {
+                res = res < 100_000_000_000_000_000L ? res * 10 + (c - '0') : append(res, 10, c - '0', max);
+                c = read();
+            }
+            if (!isSpaceChar(c)) throw new InputMismatchException("unexpected character: " + (char) c);
+            return negative ? -res : res;
+        }
+
+        /**
+         * res * scale + digits, or InputMismatchException if that is above max (all compared unsigned).
+         */
+        private static long append(long res, long scale, long digits, long max) {
+            if (Long.compareUnsigned(res, Long.divideUnsigned(max - digits, scale)) > 0) {
+                throw new InputMismatchException("long overflow");
+            }
+            return res * scale + digits;
+        }
+
+        /**
+         * Value of 8 digits (0..9 per byte, first digit in the lowest byte).
+         */
+        private static long eightDigits(long v) {
+            v = (v * 10) + (v >>> 8);
+            return ((v & 0x000000FF000000FFL) * (100 + (1000000L << 32))
+                    + ((v >>> 16) & 0x000000FF000000FFL) * (1 + (10000L << 32))) >>> 32;
+        }
+
+        /**
+         * Parses [sign] digits [. digits] [e [sign] digits]. Up to 18 significant digits and decimal
+         * exponents within +-22 are computed exactly from a long and a power of ten (Clinger's fast path);
+         * anything else falls back to Double.parseDouble on the token.
+         */
+        public double nextDouble() {
+            int c = skipSpace();
+            int length = 0;
+            boolean negative = c == '-';
+            if (negative || c == '+') {
+                scratch[length++] = (byte) c;
+                c = read();
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean seenDigit = false;
+            while (c >= '0' && c <= '9') {
+                length = keep(length, c);
+                seenDigit = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                } else {
+                    exponent++;
+                }
+                c = read();
+            }
+            if (c == '.') {
+                length = keep(length, c);
+                c = read();
+                while (c >= '0' && c <= '9') {
+                    length = keep(length, c);
+                    seenDigit = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        if (mantissa != 0) digits++;
+                        exponent--;
+                    }
+                    c = read();
+                }
+            }
+            if (!seenDigit) throw new InputMismatchException("not a number");
+            boolean exact = digits < 18;
+            if (c == 'e' || c == 'E') {
+                length = keep(length, c);
+                c = read();
+                boolean negativeExponent = c == '-';
+                if (negativeExponent || c == '+') {
+                    length = keep(length, c);
+                    c = read();
+                }
+                int e = 0;
+                while (c >= '0' && c <= '9') {
+                    length = keep(length, c);
+                    if (e < 100000) e = e * 10 + (c - '0');
+                    c = read();
+                }
+                exponent += negativeExponent ? -e : e;
+            }
+            if (!isSpaceChar(c)) throw new InputMismatchException("unexpected character: " + (char) c);
+
+            double value;
+            if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+                value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+                return negative ? -value : value;
+            }
+            return Double.parseDouble(new String(scratch, 0, length, StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * Copies the next whitespace separated token into dst and returns its length, or -1 at the end
+         * of the input. Bytes that don't fit into dst are skipped.
+         */
+        public int nextToken(byte[] dst) {
+            if (!hasNext()) return -1;
+            int length = 0;
+            int c = read();
+            while (!isSpaceChar(c)) {
+                if (length < dst.length) dst[length] = (byte) c;
+                length++;
+                c = read();
+            }
+            return Math.min(length, dst.length);
+        }
+
+        public boolean isSpaceChar(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) channel.close();
+            if (stream != null) stream.close();
+        }
+
+        private int keep(int length, int c) {
+            if (length == scratch.length) scratch = Arrays.copyOf(scratch, length * 2);
+            scratch[length] = (byte) c;
+            return length + 1;
+        }
+
+        private int skipSpace() {
+            if (!hasNext()) throw new InputMismatchException("end of input");
+            return read();
+        }
+
+        private boolean refill() {
+            try {
+                if (channel != null) {
+                    long size = channel.size();
+                    if (mappedUpTo >= size) return false;
+                    long window = Math.min(MAP_WINDOW, size - mappedUpTo);
+                    MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, mappedUpTo, window);
+                    mappedUpTo += window;
+                    buf = mapped.order(ByteOrder.LITTLE_ENDIAN);
+                } else {
+                    int read = stream.read(streamBuffer);
+                    if (read <= 0) return false;
+                    buf.limit(read);
+                }
+                pos = 0;
+                limit = buf.limit();
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public static class FastWriter implements Closeable {
+        private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buf;
+        private final byte[] digits = new byte[20];
+
+        public FastWriter(OutputStream stream) {
+            this(Channels.newChannel(stream), 1 << 20);
+        }
+
+        public FastWriter(WritableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            this.buf = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        public FastWriter print(long value) {
+            ensure(20);
+            if (value == Long.MIN_VALUE) {
+                buf.put(MIN_LONG);
+                return this;
+            }
+            if (value < 0) {
+                buf.put((byte) '-');
+                value = -value;
+            }
+            int i = digits.length;
+            do {
+                long q = value / 10;
+                digits[--i] = (byte) ('0' + (value - q * 10));
+                value = q;
+            } while (value != 0);
+            buf.put(digits, i, digits.length - i);
+            return this;
+        }
+
+        public FastWriter print(int value) {
+            return print((long) value);
+        }
+
+        /**
+         * Fixed point with the given number of decimals (at most 18), rounded half up.
+         * Values that don't fit a long after scaling are written with Double.toString.
+         */
+        public FastWriter print(double value, int decimals) {
+            if (Double.isNaN(value) || Double.isInfinite(value)
+                    || Math.abs(value) * Math.pow(10, decimals) >= 9e18) {
+                return print(Double.toString(value));
+            }
+            if (value < 0) {
+                print('-');
+                value = -value;
+            }
+            long scale = 1;
+            for (int i = 0; i < decimals; i++) scale *= 10;
+            long scaled = Math.round(value * scale);
+            print(scaled / scale);
+            if (decimals > 0) {
+                print('.');
+                long fraction = scaled % scale;
+                for (long s = scale / 10; s > 0; s /= 10) {
+                    print((char) ('0' + fraction / s % 10));
+                }
+            }
+            return this;
+        }
+
+        public FastWriter print(char c) {
+            ensure(1);
+            buf.put((byte) c);
+            return this;
+        }
+
+        /**
+         * ASCII only, every char is written as one byte.
+         */
+        public FastWriter print(CharSequence s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (!buf.hasRemaining()) flushBuffer();
+                buf.put((byte) s.charAt(i));
+            }
+            return this;
+        }
+
+        public FastWriter print(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (!buf.hasRemaining()) flushBuffer();
+                int n = Math.min(length, buf.remaining());
+                buf.put(bytes, offset, n);
+                offset += n;
+                length -= n;
+            }
+            return this;
+        }
+
+        public FastWriter println(long value) {
+            return print(value).print('\n');
+        }
+
+        public FastWriter println() {
+            return print('\n');
+        }
+
+        public void flush() {
+            flushBuffer();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushBuffer();
+            channel.close();
+        }
+
+        private void ensure(int bytes) {
+            if (buf.remaining() < bytes) flushBuffer();
+        }
+
+        private void flushBuffer() {
+            buf.flip();
+            try {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buf.clear();
+        }
+    }
+}
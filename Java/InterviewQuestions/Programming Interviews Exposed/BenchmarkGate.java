@@ -0,0 +1,143 @@
+package interviewsexposed;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Fails the build when a JMH run (CSV output with -prof gc) regresses against a stored baseline.
+ *
+ * Usage (benchmarks.sh builds the classes and the results):
+ *   java -cp build/classes interviewsexposed.BenchmarkGate results.csv baseline.properties            -> exit code 1 on regression
+ *   java -cp build/classes interviewsexposed.BenchmarkGate results.csv baseline.properties --update   -> new baseline
+ *
+ * The baseline keys are "benchmark[params].ns" for the time per operation and "benchmark[params].bytes"
+ * for gc.alloc.rate.norm, the bytes allocated per operation.
+ */
+public class BenchmarkGate {
+    private static final double TIME_TOLERANCE = 0.10;
+    private static final double ALLOCATION_TOLERANCE = 0.05;
+    /** Allocation of a few objects per op is noise (e.g. a boxed result), not a regression. */
+    private static final double ALLOCATION_SLACK_BYTES = 64;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("usage: java interviewsexposed.BenchmarkGate results.csv baseline.properties [--update]");
+            System.exit(2);
+        }
+        Map<String, Double> results = readResults(Paths.get(args[0]));
+        Path baselineFile = Paths.get(args[1]);
+
+        if (args.length > 2 && args[2].equals("--update")) {
+            Properties baseline = new Properties();
+            results.forEach((key, value) -> baseline.setProperty(key, String.valueOf(value)));
+            try (Writer writer = Files.newBufferedWriter(baselineFile)) {
+                baseline.store(writer, "JMH baseline for SolutionsBenchmark");
+            }
+            System.out.println("Baseline updated with " + results.size() + " values");
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (Reader reader = Files.newBufferedReader(baselineFile)) {
+            baseline.load(reader);
+        }
+
+        List<String> regressions = new ArrayList<>();
+        results.forEach((key, value) -> {
+            String stored = baseline.getProperty(key);
+            if (stored == null) {
+                System.out.println("NEW   " + key + " = " + value);
+                return;
+            }
+            double expected = Double.parseDouble(stored);
+            boolean allocation = key.endsWith(".bytes");
+            double limit = allocation
+                    ? expected * (1 + ALLOCATION_TOLERANCE) + ALLOCATION_SLACK_BYTES
+                    : expected * (1 + TIME_TOLERANCE);
+            String line = String.format("%s = %.1f (baseline %.1f, limit %.1f)", key, value, expected, limit);
+            if (value > limit) {
+                regressions.add(line);
+                System.out.println("FAIL  " + line);
+            } else {
+                System.out.println("OK    " + line);
+            }
+        });
+
+        if (!regressions.isEmpty()) {
+            System.out.println(regressions.size() + " regression(s) against " + baselineFile);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the JMH CSV. Primary rows are the time per op, secondary rows are named
+     * "benchmark:gc.alloc.rate.norm" (older JMH versions prefix the metric with a middle dot).
+     */
+    static Map<String, Double> readResults(Path csv) throws IOException {
+        List<String> lines = Files.readAllLines(csv);
+        List<String> header = splitCsv(lines.get(0));
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+
+        Map<String, Double> results = new TreeMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) continue;
+            List<String> row = splitCsv(line);
+            StringBuilder params = new StringBuilder();
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ")) {
+                    if (params.length() > 0) params.append(',');
+                    params.append(header.get(i).substring(7)).append('=').append(row.get(i));
+                }
+            }
+
+            String benchmark = row.get(0);
+            double score = Double.parseDouble(row.get(scoreColumn));
+            int metric = benchmark.indexOf(':');
+            if (metric < 0) {
+                results.put(benchmark + "[" + params + "].ns", toNanos(score, row.get(unitColumn)));
+            } else if (benchmark.endsWith("gc.alloc.rate.norm")) {
+                results.put(benchmark.substring(0, metric) + "[" + params + "].bytes", score);
+            }
+        }
+        return results;
+    }
+
+    private static double toNanos(double score, String unit) {
+        switch (unit) {
+            case "ns/op": return score;
+            case "us/op": return score * 1e3;
+            case "ms/op": return score * 1e6;
+            case "s/op": return score * 1e9;
+            default: throw new IllegalArgumentException("Run the benchmark in AverageTime mode, got unit " + unit);
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
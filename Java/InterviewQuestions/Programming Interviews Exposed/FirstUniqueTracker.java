@@ -0,0 +1,180 @@
+package interviewsexposed;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Answers "which is the first symbol seen exactly once so far?" over an unbounded stream.
+ *
+ * Every symbol has a slot with a state (unseen, seen once, repeated). The seen-once symbols are kept in
+ * a doubly-linked list in arrival order, stored in two int arrays indexed by slot. A symbol is appended
+ * when first seen and unlinked when seen again, so both update and query are O(1).
+ *
+ * Symbols below the direct range (65536 by default, which covers every char) use their value as the slot.
+ * Other code points are mapped to extra slots through an IntIntHashMap, those arrays grow only when a
+ * new distinct symbol shows up. Nothing is allocated per symbol.
+ */
+public class FirstUniqueTracker {
+    public static final int NONE = -1;
+
+    private static final byte UNSEEN = 0;
+    private static final byte ONCE = 1;
+    private static final byte REPEATED = 2;
+    private static final int NIL = -1;
+
+    private final int directRange;
+    private byte[] state;
+    private int[] prev;
+    private int[] next;
+    private int head = NIL;
+    private int tail = NIL;
+
+    private final IntIntHashMap extendedSlots = new IntIntHashMap();
+    private int[] extendedSymbols = new int[0];
+    private int extendedCount;
+
+    private final char[] charBuffer = new char[8192];
+    private char pendingHighSurrogate;
+
+    public FirstUniqueTracker() {
+        this(Character.MAX_VALUE + 1);
+    }
+
+    public FirstUniqueTracker(int directRange) {
+        this.directRange = directRange;
+        this.state = new byte[directRange];
+        this.prev = new int[directRange];
+        this.next = new int[directRange];
+    }
+
+    /**
+     * Tracker sized for byte streams, every byte value 0..255 is a symbol.
+     */
+    public static FirstUniqueTracker forBytes() {
+        return new FirstUniqueTracker(256);
+    }
+
+    public void accept(int symbol) {
+        int slot = slotOf(symbol);
+        byte s = state[slot];
+        if (s == UNSEEN) {
+            state[slot] = ONCE;
+            link(slot);
+        } else if (s == ONCE) {
+            state[slot] = REPEATED;
+            unlink(slot);
+        }
+    }
+
+    public void accept(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            acceptChar(text.charAt(i));
+        }
+    }
+
+    /**
+     * Consumes the reader to its end. Surrogate pairs are combined into code points,
+     * also when a pair is split between two reads.
+     */
+    public void accept(Reader reader) throws IOException {
+        int read;
+        while ((read = reader.read(charBuffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                acceptChar(charBuffer[i]);
+            }
+        }
+        if (pendingHighSurrogate != 0) {
+            accept(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+    }
+
+    /**
+     * Consumes the remaining bytes of the buffer, each unsigned byte is a symbol.
+     */
+    public void accept(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            accept(buffer.get() & 0xFF);
+        }
+    }
+
+    /**
+     * The first symbol seen exactly once so far, or NONE.
+     */
+    public int firstUnique() {
+        if (head == NIL) return NONE;
+        return head < directRange ? head : extendedSymbols[head - directRange];
+    }
+
+    public void reset() {
+        Arrays.fill(state, UNSEEN);
+        head = tail = NIL;
+        extendedSlots.clear();
+        extendedCount = 0;
+        pendingHighSurrogate = 0;
+    }
+
+    private void acceptChar(char c) {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                accept(Character.toCodePoint(high, c));
+                return;
+            }
+            accept(high);
+        }
+        if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else {
+            accept(c);
+        }
+    }
+
+    private int slotOf(int symbol) {
+        if (symbol >= 0 && symbol < directRange) return symbol;
+        // Slots are stored +1, so 0 still means "not mapped yet"
+        int slot = extendedSlots.get(symbol) - 1;
+        if (slot >= 0) return slot;
+
+        slot = directRange + extendedCount;
+        if (extendedCount == extendedSymbols.length) {
+            int capacity = Math.max(16, extendedCount * 2);
+            extendedSymbols = Arrays.copyOf(extendedSymbols, capacity);
+            state = Arrays.copyOf(state, directRange + capacity);
+            prev = Arrays.copyOf(prev, directRange + capacity);
+            next = Arrays.copyOf(next, directRange + capacity);
+        }
+        extendedSymbols[extendedCount++] = symbol;
+        state[slot] = UNSEEN;
+        extendedSlots.put(symbol, slot + 1);
+        return slot;
+    }
+
+    private void link(int slot) {
+        prev[slot] = tail;
+        next[slot] = NIL;
+        if (tail == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
+    }
+
+    private void unlink(int slot) {
+        int p = prev[slot], n = next[slot];
+        if (p == NIL) {
+            head = n;
+        } else {
+            next[p] = n;
+        }
+        if (n == NIL) {
+            tail = p;
+        } else {
+            prev[n] = p;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package interviewsexposed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typo tolerant dictionary lookup: returns every term within edit distance k (k <= 2) of the query.
+ *
+ * Symmetric delete index (SymSpell style): if two strings are within distance k, then deleting at most
+ * k characters from each gives a common string. So the index stores every "term minus up to k chars"
+ * and a query looks up every "query minus up to k chars". The hits are only candidates and are verified
+ * with the one-away check (k = 1) or a banded Levenshtein (k = 2).
+ *
+ * Deletions are never materialized as Strings: they are hashed in O(1) each from prefix hashes. The index
+ * is one sorted long[] of (40 bit deletion hash, 24 bit term id), searched with binary search. Hash
+ * collisions only add candidates, the verification step throws them away.
+ */
+public class FuzzyIndex {
+    private static final long P = 0x100000001B3L;
+    private static final int ID_BITS = 24;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    private final String[] terms;
+    private final int maxDistance;
+    private final long[] entries;
+
+    private FuzzyIndex(String[] terms, int maxDistance, long[] entries) {
+        this.terms = terms;
+        this.maxDistance = maxDistance;
+        this.entries = entries;
+    }
+
+    public static FuzzyIndex build(List<String> dictionary, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 2) {
+            throw new IllegalArgumentException("maxDistance must be 0, 1 or 2: " + maxDistance);
+        }
+        if (dictionary.size() > ID_MASK) {
+            throw new IllegalArgumentException("At most " + ID_MASK + " terms are supported");
+        }
+        String[] terms = dictionary.toArray(new String[0]);
+
+        long[] entries = new long[terms.length * 8];
+        int size = 0;
+        long[] hashes = new long[16];
+        for (int id = 0; id < terms.length; id++) {
+            int count = deletionHashes(terms[id], maxDistance, hashes);
+            if (count > hashes.length) {
+                hashes = new long[count];
+                count = deletionHashes(terms[id], maxDistance, hashes);
+            }
+            if (size + count > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + count));
+            }
+            for (int i = 0; i < count; i++) {
+                entries[size++] = (hashes[i] << ID_BITS) | id;
+            }
+        }
+        entries = Arrays.copyOf(entries, size);
+        Arrays.parallelSort(entries);
+        return new FuzzyIndex(terms, maxDistance, entries);
+    }
+
+    /**
+     * Every dictionary term within edit distance k of the query, in dictionary order.
+     */
+    public List<String> lookup(String query, int k) {
+        if (k < 0 || k > maxDistance) {
+            throw new IllegalArgumentException("k must be between 0 and " + maxDistance + ": " + k);
+        }
+        long[] hashes = new long[deletionCount(query.length(), k)];
+        int count = deletionHashes(query, k, hashes);
+
+        IntIntHashMap checked = new IntIntHashMap();
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long from = hashes[i] << ID_BITS;
+            int pos = lowerBound(from);
+            while (pos < entries.length && (entries[pos] & ~ID_MASK) == from) {
+                int id = (int) (entries[pos++] & ID_MASK);
+                if (checked.increment(id) == 1 && withinDistance(query, terms[id], k)) {
+                    matches.add(id);
+                }
+            }
+        }
+        matches.sort(null);
+        List<String> result = new ArrayList<>(matches.size());
+        for (int id : matches) {
+            result.add(terms[id]);
+        }
+        return result;
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    /**
+     * Edit distance of a and b is at most k. k = 0 and 1 are the one-away checks,
+     * bigger k falls back to a Levenshtein restricted to the diagonal band of width 2k + 1.
+     */
+    public static boolean withinDistance(CharSequence a, CharSequence b, int k) {
+        int diff = a.length() - b.length();
+        if (diff > k || -diff > k) return false;
+        if (k == 0) return a.toString().contentEquals(b);
+        if (k == 1) return isOneAway(a, b);
+        return boundedLevenshtein(a, b, k) <= k;
+    }
+
+    public static boolean isOneAway(CharSequence a, CharSequence b) {
+        if (a.length() > b.length() + 1 || a.length() < b.length() - 1) return false;
+
+        if (a.length() < b.length()) {
+            return oneInsertion(a, b);
+        } else if (b.length() < a.length()) {
+            return oneInsertion(b, a);
+        }
+        return oneSubstitution(a, b);
+    }
+
+    /**
+     * b is a with at most one extra character. Expects b.length() == a.length() + 1.
+     */
+    public static boolean oneInsertion(CharSequence a, CharSequence b) {
+        int ai = 0, bi = 0;
+        boolean mismatchFound = false;
+        while (ai < a.length() && bi < b.length()) {
+            if (a.charAt(ai) != b.charAt(bi)) {
+                if (mismatchFound) return false;
+                mismatchFound = true;
+                bi++;
+            } else {
+                ai++;
+                bi++;
+            }
+        }
+        return ai == a.length();
+    }
+
+    /**
+     * a and b have the same length and differ in at most one position.
+     */
+    public static boolean oneSubstitution(CharSequence a, CharSequence b) {
+        boolean mismatchFound = false;
+        for (int i = 0; i < a.length(); i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                if (mismatchFound) return false;
+                mismatchFound = true;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Levenshtein distance, or k + 1 when it is known to be bigger than k.
+     * Only cells with |i - j| <= k are computed, rows are abandoned once their minimum exceeds k.
+     */
+    static int boundedLevenshtein(CharSequence a, CharSequence b, int k) {
+        int n = a.length(), m = b.length();
+        int big = k + 1;
+        int[] prev = new int[m + 1];
+        int[] cur = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j <= k ? j : big;
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - k), to = Math.min(m, i + k);
+            cur[0] = i <= k ? i : big;
+            if (from > 1) cur[from - 1] = big;
+            int rowMin = cur[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(prev[j - 1] + cost, Math.min(prev[j] + 1, cur[j - 1] + 1));
+                cur[j] = Math.min(d, big);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (to < m) cur[to + 1] = big;
+            if (rowMin > k) return big;
+            int[] tmp = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        return prev[m];
+    }
+
+    private int lowerBound(long key) {
+        int lo = 0, hi = entries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int deletionCount(int length, int k) {
+        int count = 1;
+        if (k >= 1) count += length;
+        if (k >= 2) count += length * (length - 1) / 2;
+        return count;
+    }
+
+    /**
+     * Writes the 40 bit hashes of s and of every string made by deleting 1..k characters of s,
+     * sorted and without duplicates. Returns how many were written, or the needed size if out is too small.
+     */
+    private static int deletionHashes(CharSequence s, int k, long[] out) {
+        int n = s.length();
+        int needed = deletionCount(n, k);
+        if (needed > out.length) return needed;
+
+        long[] pre = new long[n + 1];
+        long[] pow = new long[n + 1];
+        pow[0] = 1;
+        for (int i = 0; i < n; i++) {
+            pre[i + 1] = pre[i] * P + s.charAt(i) + 1;
+            pow[i + 1] = pow[i] * P;
+        }
+
+        int count = 0;
+        out[count++] = finish(pre[n], n);
+        if (k >= 1) {
+            for (int i = 0; i < n; i++) {
+                long h = pre[i] * pow[n - i - 1] + segment(pre, pow, i + 1, n);
+                out[count++] = finish(h, n - 1);
+            }
+        }
+        if (k >= 2) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    long h = pre[i] * pow[j - i - 1] + segment(pre, pow, i + 1, j);
+                    h = h * pow[n - j - 1] + segment(pre, pow, j + 1, n);
+                    out[count++] = finish(h, n - 2);
+                }
+            }
+        }
+
+        Arrays.sort(out, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || out[i] != out[i - 1]) out[unique++] = out[i];
+        }
+        return unique;
+    }
+
+    /** Hash of s[from, to) from the prefix hashes. */
+    private static long segment(long[] pre, long[] pow, int from, int to) {
+        return pre[to] - pre[from] * pow[to - from];
+    }
+
+    /** Mixes in the length and keeps 40 well distributed bits (murmur3 finalizer). */
+    private static long finish(long h, int length) {
+        h ^= length * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h >>> ID_BITS;
+    }
+}
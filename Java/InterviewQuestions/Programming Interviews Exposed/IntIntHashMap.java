@@ -0,0 +1,202 @@
+package interviewsexposed;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive int -> int hash map with open addressing and linear probing.
+ * No boxing, no entry objects: the whole map is two int arrays.
+ *
+ * Key 0 marks a free slot in the keys array, so the real key 0 is stored on the side.
+ * Missing keys read as 0, which is what a frequency counter wants.
+ */
+public class IntIntHashMap {
+    private static final int FREE = 0;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int shift;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    public IntIntHashMap() {
+        this(16);
+    }
+
+    public IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Counts every element of the array.
+     */
+    public static IntIntHashMap count(int[] array, int from, int to) {
+        IntIntHashMap counts = new IntIntHashMap();
+        for (int i = from; i < to; i++) {
+            counts.increment(array[i]);
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the array in per-thread partitions on the common ForkJoinPool, then merges the partial maps.
+     */
+    public static IntIntHashMap countParallel(int[] array, int partitions) {
+        int chunk = (array.length + partitions - 1) / partitions;
+        return IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(p -> count(array, Math.min(array.length, p * chunk), Math.min(array.length, (p + 1) * chunk)))
+                .reduce((a, b) -> {
+                    // Merge the smaller map into the bigger one, so fewer entries are re-hashed
+                    if (a.size < b.size) {
+                        b.addAll(a);
+                        return b;
+                    }
+                    a.addAll(b);
+                    return a;
+                })
+                .orElseGet(IntIntHashMap::new);
+    }
+
+    /**
+     * Adds one to the value of the key and returns the new value.
+     */
+    public int increment(int key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Adds delta to the value of the key (missing keys count as 0) and returns the new value.
+     */
+    public int add(int key, int delta) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, delta);
+        return delta;
+    }
+
+    public void put(int key, int value) {
+        if (key == FREE) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, key, value);
+    }
+
+    public int get(int key) {
+        if (key == FREE) return hasZeroKey ? zeroValue : 0;
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == FREE) return hasZeroKey;
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void addAll(IntIntHashMap other) {
+        other.forEach(this::add);
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) consumer.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) consumer.accept(keys[i], values[i]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    private void insert(int slot, int key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Fibonacci hashing: multiply by 2^32 / golden ratio and keep the top bits,
+     * so sequential keys are spread over the table instead of forming one long probe run.
+     */
+    private int slot(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == FREE) continue;
+            int slot = slot(key);
+            while (keys[slot] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+}
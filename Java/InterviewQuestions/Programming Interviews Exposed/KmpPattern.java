@@ -0,0 +1,153 @@
+package interviewsexposed;
+
+/**
+ * Knuth-Morris-Pratt matcher. The failure table is computed once in compile(),
+ * after that the pattern can be searched in any number of texts in O(text length) each.
+ *
+ * Works on int[] and on CharSequence texts (chars are compared by value).
+ * The cyclic search treats the text as text + text without building the concatenation,
+ * which gives an O(n) rotation check.
+ */
+public class KmpPattern {
+    private final int[] pattern;
+    /** failure[i] = length of the longest proper prefix of pattern[0..i] that is also its suffix. */
+    private final int[] failure;
+
+    private KmpPattern(int[] pattern) {
+        this.pattern = pattern;
+        this.failure = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) k = failure[k - 1];
+            if (pattern[i] == pattern[k]) k++;
+            failure[i] = k;
+        }
+    }
+
+    public static KmpPattern compile(int[] pattern) {
+        return new KmpPattern(pattern.clone());
+    }
+
+    public static KmpPattern compile(CharSequence pattern) {
+        int[] p = new int[pattern.length()];
+        for (int i = 0; i < p.length; i++) {
+            p[i] = pattern.charAt(i);
+        }
+        return new KmpPattern(p);
+    }
+
+    /**
+     * True if b is a rotation of a, e.g. {4,5,1,2,3} of {1,2,3,4,5}. Handles repeated values.
+     */
+    public static boolean isRotation(int[] a, int[] b) {
+        return a.length == b.length && compile(a).indexOfCyclic(b) >= 0;
+    }
+
+    public static boolean isRotation(CharSequence a, CharSequence b) {
+        return a.length() == b.length() && compile(a).indexOfCyclic(b) >= 0;
+    }
+
+    public int length() {
+        return pattern.length;
+    }
+
+    public int indexOf(int[] text) {
+        return indexOf(text, 0);
+    }
+
+    /**
+     * Index of the first match at or after from, or -1.
+     */
+    public int indexOf(int[] text, int from) {
+        int m = pattern.length;
+        if (m == 0) return Math.min(from, text.length);
+        for (int i = Math.max(from, 0), k = 0; i < text.length; i++) {
+            k = step(k, text[i]);
+            if (k == m) return i - m + 1;
+        }
+        return -1;
+    }
+
+    public int indexOf(CharSequence text) {
+        return indexOf(text, 0);
+    }
+
+    public int indexOf(CharSequence text, int from) {
+        int m = pattern.length;
+        if (m == 0) return Math.min(from, text.length());
+        for (int i = Math.max(from, 0), k = 0; i < text.length(); i++) {
+            k = step(k, text.charAt(i));
+            if (k == m) return i - m + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Searches the pattern in text + text (the last element left out, so every match starts inside text).
+     * Returns the start index of the first match, which is the rotation offset, or -1.
+     */
+    public int indexOfCyclic(int[] text) {
+        int n = text.length, m = pattern.length;
+        if (m == 0) return 0;
+        if (n == 0) return -1;
+        int end = n + m - 1;
+        for (int i = 0, j = 0, k = 0; i < end; i++, j++) {
+            if (j == n) j = 0;
+            k = step(k, text[j]);
+            if (k == m) return i - m + 1;
+        }
+        return -1;
+    }
+
+    public int indexOfCyclic(CharSequence text) {
+        int n = text.length(), m = pattern.length;
+        if (m == 0) return 0;
+        if (n == 0) return -1;
+        int end = n + m - 1;
+        for (int i = 0, j = 0, k = 0; i < end; i++, j++) {
+            if (j == n) j = 0;
+            k = step(k, text.charAt(j));
+            if (k == m) return i - m + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of (possibly overlapping) matches in the text.
+     */
+    public int count(int[] text) {
+        int m = pattern.length, count = 0;
+        if (m == 0) return text.length + 1;
+        for (int i = 0, k = 0; i < text.length; i++) {
+            k = step(k, text[i]);
+            if (k == m) {
+                count++;
+                k = failure[k - 1];
+            }
+        }
+        return count;
+    }
+
+    public int count(CharSequence text) {
+        int m = pattern.length, count = 0;
+        if (m == 0) return text.length() + 1;
+        for (int i = 0, k = 0; i < text.length(); i++) {
+            k = step(k, text.charAt(i));
+            if (k == m) {
+                count++;
+                k = failure[k - 1];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Advances the automaton by one symbol. k is the number of pattern symbols matched so far.
+     * After a full match k falls back first, so overlapping matches are found.
+     */
+    private int step(int k, int symbol) {
+        if (k == pattern.length) k = failure[k - 1];
+        while (k > 0 && symbol != pattern[k]) k = failure[k - 1];
+        if (symbol == pattern[k]) k++;
+        return k;
+    }
+}
@@ -0,0 +1,33 @@
+package interviewsexposed;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Minesweeper board that can answer "what is in this cell?" without a dense int[numRows][numCols].
+ * Cells hold -1 for a bomb, otherwise the number of neighbouring bombs, like Solutions.mineSweeper.
+ */
+public interface MineBoard {
+    int BOMB = -1;
+
+    int numRows();
+
+    int numCols();
+
+    /**
+     * -1 for a bomb, otherwise the number of neighbouring bombs.
+     */
+    int get(int row, int col);
+
+    /**
+     * Picks the representation by bomb density: sparse boards store only the non-zero cells
+     * (memory proportional to the number of bombs), dense boards are computed in tiles in parallel.
+     */
+    static MineBoard of(int[][] bombs, int numRows, int numCols) {
+        long cells = (long) numRows * numCols;
+        // A sparse entry costs ~9 cells * 24 bytes, a tile cell costs 1 byte
+        if ((long) bombs.length * 9 * 24 < cells / 4) {
+            return new SparseMineBoard(bombs, numRows, numCols);
+        }
+        return new TiledMineBoard(bombs, numRows, numCols, ForkJoinPool.commonPool());
+    }
+}
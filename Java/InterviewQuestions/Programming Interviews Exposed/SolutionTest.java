@@ -1,7 +1,14 @@
+package interviewsexposed;
+
 import org.junit.Test;
 
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -13,6 +20,34 @@ public class SolutionsTest {
         assertEquals(1, obj.mostFrequentElementInArray(new int[]{1, 3, 1, 3, 2, 1}));
     }
 
+    @Test
+    public void mostFrequentElementParallel() throws Exception {
+        int[] array = new int[(1 << 20) + 7];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 1000;
+        }
+        // 0..582 occur once more than the rest, 0 reaches that count first
+        assertEquals(0, obj.mostFrequentElementInArray(array));
+        array[array.length - 1] = 5;
+        array[array.length - 2] = 5;
+        assertEquals(5, obj.mostFrequentElementInArray(array));
+    }
+
+    @Test
+    public void intIntHashMap() throws Exception {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int i = -5000; i < 5000; i++) {
+            assertEquals(1, map.increment(i));
+        }
+        assertEquals(2, map.increment(0));
+        assertEquals(2, map.increment(-17));
+        assertEquals(10000, map.size());
+        assertEquals(2, map.get(0));
+        assertEquals(1, map.get(4999));
+        assertEquals(0, map.get(5000));
+        assertFalse(map.containsKey(Integer.MIN_VALUE));
+    }
+
     @Test
     public void commonElementsInTwoArrays() throws Exception {
         assertArrayEquals(new Integer[]{1, 4, 9},
@@ -21,6 +56,47 @@ public class SolutionsTest {
                         new int[]{1, 2, 4, 5, 9, 10}));
     }
 
+    @Test
+    public void commonElementsWithRepeatedValues() throws Exception {
+        assertArrayEquals(new Integer[]{1, 2},
+                obj.commonElementsInTwoArrays(new int[]{1, 2}, new int[]{1, 1, 2}));
+        assertArrayEquals(new Integer[]{2, 5},
+                obj.commonElementsInTwoArrays(new int[]{1, 2, 2, 2, 5, 5}, new int[]{2, 2, 3, 5, 5, 5}));
+
+        // Every path writes a common value once
+        int[] a = {3, 3, 3, 7, 7, 9};
+        int[] b = {3, 3, 7, 8, 9, 9};
+        int[] out = new int[a.length];
+        for (int count : new int[]{SortedIntersection.merge(a, b, out), SortedIntersection.gallop(a, b, out),
+                SortedIntersection.intersectBitmap(a, b, out), SortedIntersection.intersect(new int[][]{a, b, a}, out)}) {
+            assertEquals(3, count);
+            assertArrayEquals(new int[]{3, 7, 9}, Arrays.copyOf(out, 3));
+        }
+    }
+
+    @Test
+    public void sortedIntersection() throws Exception {
+        int[] big = new int[100000];
+        for (int i = 0; i < big.length; i++) {
+            big[i] = i * 3;
+        }
+        int[] small = {-1, 0, 4, 9, 299997, 300000};
+        int[] out = new int[small.length];
+        assertEquals(3, SortedIntersection.intersect(small, big, out));
+        assertArrayEquals(new int[]{0, 9, 299997}, Arrays.copyOf(out, 3));
+
+        int[] dense = {1, 2, 3, 4, 5, 6, 7, 8};
+        int[] evens = {2, 4, 6, 8, 10};
+        out = new int[5];
+        assertEquals(4, SortedIntersection.intersectBitmap(dense, evens, out));
+        assertArrayEquals(new int[]{2, 4, 6, 8}, Arrays.copyOf(out, 4));
+
+        out = new int[small.length];
+        int[] some = {0, 3, 9, 12, 299997};
+        assertEquals(3, SortedIntersection.intersect(new int[][]{big, some, small}, out));
+        assertArrayEquals(new int[]{0, 9, 299997}, Arrays.copyOf(out, 3));
+    }
+
     @Test
     public void isRotations() throws Exception {
         assertEquals(true, obj.isRotatons(
@@ -28,6 +104,25 @@ public class SolutionsTest {
                 new int[] {4,5,6,7,1,2,3}));
     }
 
+    @Test
+    public void isRotationsWithRepeatedValues() throws Exception {
+        assertEquals(true, obj.isRotatons(new int[]{1, 1, 2}, new int[]{1, 2, 1}));
+        assertEquals(true, obj.isRotatons(new int[]{2, 1, 2, 1, 1}, new int[]{1, 1, 2, 1, 2}));
+        assertEquals(false, obj.isRotatons(new int[]{1, 1, 2}, new int[]{1, 2, 2}));
+        assertEquals(true, obj.isRotatons(new int[]{}, new int[]{}));
+    }
+
+    @Test
+    public void kmpPattern() throws Exception {
+        KmpPattern pattern = KmpPattern.compile("aba");
+        assertEquals(2, pattern.indexOf("xxababa"));
+        assertEquals(2, pattern.count("xxababa"));
+        assertEquals(-1, pattern.indexOf("abba"));
+        assertEquals(2, pattern.indexOfCyclic("baa"));
+        assertTrue(KmpPattern.isRotation("waterbottle", "erbottlewat"));
+        assertFalse(KmpPattern.isRotation("waterbottle", "erbottlewta"));
+    }
+
     @Test
     public void non_repeating() throws Exception {
         assertEquals('c', obj.non_repeating("aabcb").charValue());
@@ -35,6 +130,23 @@ public class SolutionsTest {
         assertEquals(null, obj.non_repeating("aabb"));
     }
 
+    @Test
+    public void firstUniqueTracker() throws Exception {
+        assertEquals('b', obj.non_repeating("zbaz").charValue());
+        assertEquals('\u00e9', obj.non_repeating("\u00e1\u00e9\u00e1").charValue());
+
+        FirstUniqueTracker tracker = new FirstUniqueTracker();
+        assertEquals(FirstUniqueTracker.NONE, tracker.firstUnique());
+        tracker.accept(new StringReader("ab\uD83D\uDE00a"));
+        assertEquals('b', tracker.firstUnique());
+        tracker.accept("b");
+        assertEquals(0x1F600, tracker.firstUnique());
+
+        FirstUniqueTracker bytes = FirstUniqueTracker.forBytes();
+        bytes.accept(ByteBuffer.wrap(new byte[]{(byte) 0xFF, 1, (byte) 0xFF}));
+        assertEquals(1, bytes.firstUnique());
+    }
+
     @Test
     public void is_one_away() throws Exception {
         assertEquals(true, obj.is_one_away("abcde", "abfde"));
@@ -42,4 +154,51 @@ public class SolutionsTest {
         assertEquals(true, obj.is_one_away("xyz", "xyaz"));
     }
 
+    @Test
+    public void is_one_away_lengthGuard() throws Exception {
+        assertEquals(false, obj.is_one_away("abcde", "abc"));
+        assertEquals(false, obj.is_one_away("a", "abc"));
+        assertEquals(false, obj.is_one_away("abc", "xbcd"));
+        assertEquals(true, obj.is_one_away("abc", "abcd"));
+    }
+
+    @Test
+    public void fuzzyIndex() throws Exception {
+        FuzzyIndex index = FuzzyIndex.build(Arrays.asList("hello", "help", "shell", "yellow", "hallo", "he"), 2);
+        assertEquals(Arrays.asList("hello", "hallo"), index.lookup("hallo", 1));
+        assertEquals(Arrays.asList("hello", "help", "shell", "yellow", "hallo"), index.lookup("hello", 2));
+        assertEquals(Arrays.asList("hello"), index.lookup("hello", 0));
+        assertTrue(index.lookup("xyz", 2).isEmpty());
+        assertTrue(FuzzyIndex.withinDistance("kitten", "sittin", 2));
+        assertFalse(FuzzyIndex.withinDistance("kitten", "sitting", 2));
+    }
+
+    @Test
+    public void mineSweeperBoards() throws Exception {
+        int numRows = 1500, numCols = 1100;
+        Random rnd = new Random(42);
+        int[][] bombs = new int[20000][];
+        for (int i = 0; i < bombs.length; i++) {
+            bombs[i] = new int[]{rnd.nextInt(numRows), rnd.nextInt(numCols)};
+        }
+        bombs[0] = new int[]{0, 0};
+        bombs[1] = new int[]{numRows - 1, numCols - 1};
+
+        int[][] dense = obj.mineSweeper(bombs, numRows, numCols);
+        MineBoard sparse = new SparseMineBoard(bombs, numRows, numCols);
+        MineBoard tiled = new TiledMineBoard(bombs, numRows, numCols, ForkJoinPool.commonPool());
+        for (int r = 0; r < numRows; r++) {
+            for (int c = 0; c < numCols; c++) {
+                assertEquals(dense[r][c], sparse.get(r, c));
+                assertEquals(dense[r][c], tiled.get(r, c));
+            }
+        }
+
+        MineBoard huge = obj.mineSweeperBoard(new int[][]{{0, 2}, {99999, 99999}}, 100000, 100000);
+        assertTrue(huge instanceof SparseMineBoard);
+        assertEquals(-1, huge.get(0, 2));
+        assertEquals(1, huge.get(1, 1));
+        assertEquals(1, huge.get(99998, 99998));
+        assertEquals(0, huge.get(50000, 50000));
+    }
 }
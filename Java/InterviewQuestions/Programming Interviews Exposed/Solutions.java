@@ -1,141 +1,96 @@
+package interviewsexposed;
+
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Solutions {
+    private static final int PARALLEL_COUNT_THRESHOLD = 1 << 20;
+
     public int mostFrequentElementInArray(int[] array) {
-        Map<Integer, Integer> occurrences = new HashMap<>();
+        if (array.length >= PARALLEL_COUNT_THRESHOLD) {
+            return mostFrequentElementInArrayParallel(array);
+        }
+        IntIntHashMap occurrences = new IntIntHashMap();
         int maxValue = 0, maxOccurrence = 0;
         for (int i : array) {
-            if (occurrences.containsKey(i)) {
-                Integer value = occurrences.get(i);
-                occurrences.put(i, value + 1);
-            } else {
-                occurrences.put(i, 1);
-            }
-            if (occurrences.get(i) > maxOccurrence) {
-                {
-                    maxOccurrence = occurrences.get(i);
-                    maxValue = i;
-                }
+            int occurrence = occurrences.increment(i);
+            if (occurrence > maxOccurrence) {
+                maxOccurrence = occurrence;
+                maxValue = i;
             }
         }
         return maxValue;
     }
 
-    public Integer[] commonElementsInTwoArrays(int[] a, int[] b) {
-        int ai = 0, bi = 0;
-        List<Integer> solution = new ArrayList<>();
-        while (ai < a.length && bi < b.length) {
-            if (a[ai] < b[bi]) {
-                ai++;
-            } else if (a[ai] == b[bi]) {
-                solution.add(a[ai]);
-                ai++;
-                bi++;
-            } else {
-                bi++;
+    /**
+     * Counts partitions in parallel and merges them. Ties are then resolved the same way as the
+     * sequential version: the winner is the value that reached the max count first in the array.
+     */
+    private int mostFrequentElementInArrayParallel(int[] array) {
+        IntIntHashMap occurrences = IntIntHashMap.countParallel(array, Runtime.getRuntime().availableProcessors());
+        int[] max = {0, 0, 0}; // value, occurrence, number of values with that occurrence
+        occurrences.forEach((value, occurrence) -> {
+            if (occurrence > max[1]) {
+                max[0] = value;
+                max[1] = occurrence;
+                max[2] = 1;
+            } else if (occurrence == max[1]) {
+                max[2]++;
             }
-        }
+        });
+        if (max[2] == 1) return max[0];
 
-        Integer[] resultInArray = new Integer[solution.size()];
-        return solution.toArray(resultInArray);
+        IntIntHashMap tied = new IntIntHashMap(max[2]);
+        occurrences.forEach((value, occurrence) -> {
+            if (occurrence == max[1]) tied.put(value, 0);
+        });
+        for (int i : array) {
+            if (tied.containsKey(i) && tied.increment(i) == max[1]) return i;
+        }
+        return max[0];
     }
 
-    public boolean isRotatons(int[] a, int[] b) {
-        if (a.length != b.length) return false;
-        if (a.length == 0) return true;
-        int ai = 0, bi = -1;
+    public Integer[] commonElementsInTwoArrays(int[] a, int[] b) {
+        int[] common = new int[Math.min(a.length, b.length)];
+        int count = SortedIntersection.intersect(a, b, common);
 
-        int a0 = a[ai];
-        for(int i = 0; i < b.length; i++){
-            if(a0 == b[i]){
-                bi = i;
-                break;
-            }
+        Integer[] resultInArray = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            resultInArray[i] = common[i];
         }
+        return resultInArray;
+    }
 
-        if(bi == -1) return false;
-
-        // More elegant: j = (bi + ap) % b.length;
-        while(ai < a.length){
-            if(bi == b.length)
-                bi = 0;
-
-            if(a[ai] != b[bi]) return false;
-            bi++;
-            ai++;
-        }
-        return true;
+    public boolean isRotatons(int[] a, int[] b) {
+        return KmpPattern.isRotation(a, b);
     }
 
     public Character non_repeating(String text){
-        Hashtable<Character, Integer> ht = new Hashtable<>();
-        for(Character c : text.toCharArray()){
-            if(ht.containsKey(c)){
-                Integer newValue = ht.get(c) + 1;
-                ht.put(c, newValue);
-            } else {
-                ht.put(c,1);
-            }
+        // Chars are fed one by one (no surrogate pairing), ASCII is indexed directly
+        FirstUniqueTracker tracker = new FirstUniqueTracker(128);
+        for (int i = 0; i < text.length(); i++) {
+            tracker.accept(text.charAt(i));
         }
-
-        List<Character> c = new ArrayList<>();
-        ht.forEach((k,v) -> {
-            System.out.println("Item : " + k + " Count : " + v);
-            if(v == 1){
-                c.add(k);
-            }
-        });
-
-        if(c.size() > 0) return c.get(0);
-        return null;
+        int first = tracker.firstUnique();
+        return first == FirstUniqueTracker.NONE ? null : (char) first;
     }
 
     public boolean is_one_away(String a, String b){
-        if(a.length() > b.length()+1 && a.length() < b.length() -1) return false;
-
-        if(a.length() < b.length()){
-            if(!oneAway(a, b)) return false;
-        } else if(b.length() < a.length()){
-            if(!oneAway(b,a)) return false;
-        } else {
-            if(!oneChange(a,b)) return false;
-        }
-
-        return true;
+        return FuzzyIndex.isOneAway(a, b);
     }
 
     public boolean oneAway(String a, String b){
-        int ai = 0, bi = 0;
-        boolean mismatchFound = false;
-        while(ai < a.length()){
-            if(a.charAt(ai) != b.charAt(bi)){
-                if(mismatchFound) return false;
-                mismatchFound = true;
-                bi++;
-            } else {
-                ai++;
-                bi++;
-            }
-        }
-        return true;
+        return FuzzyIndex.oneInsertion(a, b);
     }
 
     public boolean oneChange(String a, String b){
-        int ai = 0, bi = 0;
-        boolean mismatchFound = false;
-        while(ai < a.length()){
-            if(a.charAt(ai) != b.charAt(bi)){
-                if(mismatchFound) return false;
-                mismatchFound = true;
-                ai++;
-                bi++;
-            } else {
-                ai++;
-                bi++;
-            }
-        }
-        return true;
+        return FuzzyIndex.oneSubstitution(a, b);
+    }
+
+    /**
+     * Same cells as mineSweeper, but without allocating numRows * numCols ints. See MineBoard.of.
+     */
+    public MineBoard mineSweeperBoard(int[][] bombs, int numRows, int numCols) {
+        return MineBoard.of(bombs, numRows, numCols);
     }
 
     public int[][] mineSweeper(int[][] bombs, int numRows, int numCols) {
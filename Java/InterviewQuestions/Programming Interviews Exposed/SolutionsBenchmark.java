@@ -0,0 +1,145 @@
+package interviewsexposed;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for Solutions at production-like sizes. Every input comes from a seeded Random,
+ * so two runs (and the stored baseline) measure exactly the same data.
+ *
+ * benchmarks.sh builds build/benchmarks.jar. Run with the gc profiler and CSV output, then compare against the baseline:
+ *   java -jar build/benchmarks.jar SolutionsBenchmark -prof gc -rf csv -rff results.csv
+ *   java -cp build/classes interviewsexposed.BenchmarkGate results.csv baseline.properties
+ * or both steps at once: ./benchmarks.sh gate baseline.properties
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SolutionsBenchmark {
+    private static final long SEED = 20180101L;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    private final Solutions solutions = new Solutions();
+
+    private int[] frequencies;
+    private int[] sortedA;
+    private int[] sortedB;
+    private int[] rotationA;
+    private int[] rotationB;
+    private String text;
+    private String[] wordPairs;
+    private int[][] bombs;
+    private int boardSide;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(SEED);
+
+        frequencies = new int[size];
+        for (int i = 0; i < size; i++) {
+            frequencies[i] = rnd.nextInt(Math.max(1, size / 10));
+        }
+
+        sortedA = sortedDistinct(rnd, size, 3);
+        sortedB = sortedDistinct(rnd, size, 3);
+
+        // Few distinct values, so the old first-occurrence anchoring would be stressed
+        rotationA = new int[size];
+        for (int i = 0; i < size; i++) {
+            rotationA[i] = rnd.nextInt(4);
+        }
+        rotationB = new int[size];
+        int offset = rnd.nextInt(size);
+        for (int i = 0; i < size; i++) {
+            rotationB[i] = rotationA[(i + offset) % size];
+        }
+
+        // Every letter repeats except one near the end
+        StringBuilder sb = new StringBuilder(size + 1);
+        for (int i = 0; i < size; i++) {
+            sb.append((char) ('a' + rnd.nextInt(25)));
+        }
+        sb.insert(size - size / 10, 'z');
+        text = sb.toString();
+
+        wordPairs = new String[2 * Math.min(size, 100000)];
+        for (int i = 0; i < wordPairs.length; i += 2) {
+            char[] word = new char[8 + rnd.nextInt(8)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('a' + rnd.nextInt(26));
+            }
+            wordPairs[i] = new String(word);
+            word[rnd.nextInt(word.length)] = 'z';
+            wordPairs[i + 1] = new String(word);
+        }
+
+        // Board with size cells and one bomb per 10 cells
+        boardSide = (int) Math.sqrt(size);
+        bombs = new int[size / 10][];
+        for (int i = 0; i < bombs.length; i++) {
+            bombs[i] = new int[]{rnd.nextInt(boardSide), rnd.nextInt(boardSide)};
+        }
+    }
+
+    @Benchmark
+    public int mostFrequentElementInArray() {
+        return solutions.mostFrequentElementInArray(frequencies);
+    }
+
+    @Benchmark
+    public Integer[] commonElementsInTwoArrays() {
+        return solutions.commonElementsInTwoArrays(sortedA, sortedB);
+    }
+
+    @Benchmark
+    public boolean isRotatons() {
+        return solutions.isRotatons(rotationA, rotationB);
+    }
+
+    @Benchmark
+    public Character non_repeating() {
+        return solutions.non_repeating(text);
+    }
+
+    @Benchmark
+    public int is_one_away() {
+        int count = 0;
+        for (int i = 0; i < wordPairs.length; i += 2) {
+            if (solutions.is_one_away(wordPairs[i], wordPairs[i + 1])) count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int[][] mineSweeper() {
+        return solutions.mineSweeper(bombs, boardSide, boardSide);
+    }
+
+    private static int[] sortedDistinct(Random rnd, int size, int maxGap) {
+        int[] values = new int[size];
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            value += 1 + rnd.nextInt(maxGap);
+            values[i] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,186 @@
+package interviewsexposed;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Intersection of sorted int arrays (posting lists), written into a caller-supplied buffer.
+ * The input arrays must be sorted ascending. Duplicates are allowed, every common value is written once.
+ *
+ * Strategy depends on the shape of the input:
+ * - similar sizes: linear two-pointer merge, O(n + m)
+ * - skewed sizes: galloping (exponential + binary) search of the small list in the big one, O(n log(m / n))
+ * - dense overlapping ranges: AND of two bitmaps, 64 values per instruction
+ * - more than two lists: smallest list drives, the others are galloped in ascending size order
+ */
+public class SortedIntersection {
+    /** Above this size ratio galloping beats the linear merge. */
+    private static final int GALLOP_RATIO = 32;
+    /** The bitmap path is used when the overlapping range has fewer values than this many times the list sizes. */
+    private static final int DENSE_FACTOR = 8;
+
+    private SortedIntersection() {
+    }
+
+    /**
+     * Writes the common elements of a and b into out and returns how many were written.
+     * out must have room for min(a.length, b.length) elements.
+     */
+    public static int intersect(int[] a, int[] b, int[] out) {
+        if (a.length > b.length) {
+            int[] tmp = a;
+            a = b;
+            b = tmp;
+        }
+        checkCapacity(out, a.length);
+        if (a.length == 0) return 0;
+
+        long lo = Math.max(a[0], b[0]);
+        long hi = Math.min(a[a.length - 1], b[b.length - 1]);
+        if (lo > hi) return 0;
+
+        if (b.length >= (long) a.length * GALLOP_RATIO) {
+            return gallop(a, b, out);
+        }
+        if (hi - lo < (long) DENSE_FACTOR * (a.length + b.length)) {
+            return intersectBitmap(a, b, out);
+        }
+        return merge(a, b, out);
+    }
+
+    /**
+     * k-way intersection. The lists are visited from the smallest to the biggest, so most candidates
+     * are rejected by a cheap search in a short list before the long lists are touched.
+     */
+    public static int intersect(int[][] lists, int[] out) {
+        if (lists.length == 0) return 0;
+        if (lists.length == 1) {
+            checkCapacity(out, lists[0].length);
+            System.arraycopy(lists[0], 0, out, 0, lists[0].length);
+            return lists[0].length;
+        }
+        if (lists.length == 2) return intersect(lists[0], lists[1], out);
+
+        int[][] bySize = lists.clone();
+        Arrays.sort(bySize, Comparator.comparingInt(list -> list.length));
+        int[] smallest = bySize[0];
+        checkCapacity(out, smallest.length);
+
+        int[] cursors = new int[bySize.length];
+        int count = 0;
+        candidates:
+        for (int i = 0; i < smallest.length; i++) {
+            int candidate = smallest[i];
+            if (i > 0 && smallest[i - 1] == candidate) continue;
+            for (int l = 1; l < bySize.length; l++) {
+                int[] list = bySize[l];
+                int pos = gallopTo(list, cursors[l], candidate);
+                cursors[l] = pos;
+                if (pos == list.length) break candidates;
+                if (list[pos] != candidate) continue candidates;
+            }
+            out[count++] = candidate;
+        }
+        return count;
+    }
+
+    /**
+     * Linear merge for lists of similar size.
+     */
+    public static int merge(int[] a, int[] b, int[] out) {
+        int ai = 0, bi = 0, count = 0;
+        while (ai < a.length && bi < b.length) {
+            int x = a[ai], y = b[bi];
+            if (x < y) {
+                ai++;
+            } else if (x > y) {
+                bi++;
+            } else {
+                out[count++] = x;
+                while (ai < a.length && a[ai] == x) ai++;
+                while (bi < b.length && b[bi] == x) bi++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Every element of the small list is looked up in the big list by galloping forward from
+     * the previous match, so each lookup costs O(log distance) instead of O(log m).
+     */
+    public static int gallop(int[] small, int[] big, int[] out) {
+        int pos = 0, count = 0;
+        for (int i = 0; i < small.length; i++) {
+            int x = small[i];
+            if (i > 0 && small[i - 1] == x) continue;
+            pos = gallopTo(big, pos, x);
+            if (pos == big.length) break;
+            if (big[pos] == x) {
+                out[count++] = x;
+                pos++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Bitmap path for dense ranges: a is turned into a bitmap over the overlapping range,
+     * then b is filtered through it. Values outside the overlapping range are skipped, and a bit is
+     * cleared once matched so repeated values in b are written only once. Offsets are longs, the overlap
+     * may span the whole int range (a 512 MB bitmap).
+     */
+    public static int intersectBitmap(int[] a, int[] b, int[] out) {
+        int lo = Math.max(a[0], b[0]);
+        int hi = Math.min(a[a.length - 1], b[b.length - 1]);
+        if (lo > hi) return 0;
+
+        long[] bits = new long[(int) (((long) hi - lo) >>> 6) + 1];
+        for (int i = gallopTo(a, 0, lo); i < a.length && a[i] <= hi; i++) {
+            long offset = (long) a[i] - lo;
+            bits[(int) (offset >>> 6)] |= 1L << offset;
+        }
+        int count = 0;
+        for (int i = gallopTo(b, 0, lo); i < b.length && b[i] <= hi; i++) {
+            long offset = (long) b[i] - lo;
+            int word = (int) (offset >>> 6);
+            if ((bits[word] & (1L << offset)) != 0) {
+                bits[word] &= ~(1L << offset);
+                out[count++] = b[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first index at or after from whose value is >= target (list.length if none).
+     * Doubles the step until it overshoots, then binary searches the last step.
+     */
+    static int gallopTo(int[] list, int from, int target) {
+        if (from >= list.length || list[from] >= target) return from;
+        int step = 1;
+        int lo = from;
+        int hi = from + 1;
+        while (hi < list.length && list[hi] < target) {
+            lo = hi;
+            step <<= 1;
+            hi = from + step;
+        }
+        if (hi > list.length) hi = list.length;
+        // list[lo] < target, and list[hi] >= target or hi == length
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (list[mid] < target) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return hi;
+    }
+
+    private static void checkCapacity(int[] out, int needed) {
+        if (out.length < needed) {
+            throw new IllegalArgumentException("Output buffer too small: " + out.length + " < " + needed);
+        }
+    }
+}
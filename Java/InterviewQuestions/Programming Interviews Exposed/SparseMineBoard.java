@@ -0,0 +1,59 @@
+package interviewsexposed;
+
+/**
+ * Stores only the non-zero cells in a LongIntHashMap keyed by row * numCols + col.
+ * Memory is proportional to the number of bombs, the board size doesn't matter.
+ */
+public class SparseMineBoard implements MineBoard {
+    private final int numRows;
+    private final int numCols;
+    private final LongIntHashMap cells;
+
+    public SparseMineBoard(int[][] bombs, int numRows, int numCols) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.cells = new LongIntHashMap(bombs.length * 9);
+        for (int[] bomb : bombs) {
+            int rowIndex = bomb[0];
+            int colIndex = bomb[1];
+            cells.put(key(rowIndex, colIndex), BOMB);
+            for (int i = Math.max(0, rowIndex - 1); i < Math.min(numRows, rowIndex + 2); i++) {
+                for (int j = Math.max(0, colIndex - 1); j < Math.min(numCols, colIndex + 2); j++) {
+                    long key = key(i, j);
+                    if (cells.get(key) != BOMB) {
+                        cells.add(key, 1);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numCols() {
+        return numCols;
+    }
+
+    @Override
+    public int get(int row, int col) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the board");
+        }
+        return cells.get(key(row, col));
+    }
+
+    /**
+     * Number of cells that are bombs or have at least one neighbouring bomb.
+     */
+    public int nonZeroCells() {
+        return cells.size();
+    }
+
+    private long key(int row, int col) {
+        return (long) row * numCols + col;
+    }
+}
@@ -0,0 +1,110 @@
+package interviewsexposed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Dense board split into TILE x TILE tiles of bytes, for boards with many bombs.
+ *
+ * Bombs are first bucketed to every tile their 3x3 neighbourhood touches, then the tiles are filled
+ * independently on a ForkJoinPool. Tiles without any bomb nearby are never allocated.
+ */
+public class TiledMineBoard implements MineBoard {
+    static final int TILE_SHIFT = 10;
+    static final int TILE = 1 << TILE_SHIFT;
+
+    private final int numRows;
+    private final int numCols;
+    private final int tileCols;
+    private final byte[][] tiles;
+
+    public TiledMineBoard(int[][] bombs, int numRows, int numCols, ForkJoinPool pool) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        int tileRows = (numRows + TILE - 1) >>> TILE_SHIFT;
+        this.tileCols = (numCols + TILE - 1) >>> TILE_SHIFT;
+        this.tiles = new byte[tileRows * tileCols][];
+
+        // Bombs by tile, stored as indexes into the bombs array
+        List<int[]> buckets = new ArrayList<>(tiles.length);
+        int[] sizes = new int[tiles.length];
+        for (int t = 0; t < tiles.length; t++) buckets.add(null);
+        for (int b = 0; b < bombs.length; b++) {
+            int rowIndex = bombs[b][0], colIndex = bombs[b][1];
+            int fromTileRow = Math.max(0, rowIndex - 1) >>> TILE_SHIFT;
+            int toTileRow = Math.min(numRows - 1, rowIndex + 1) >>> TILE_SHIFT;
+            int fromTileCol = Math.max(0, colIndex - 1) >>> TILE_SHIFT;
+            int toTileCol = Math.min(numCols - 1, colIndex + 1) >>> TILE_SHIFT;
+            for (int tr = fromTileRow; tr <= toTileRow; tr++) {
+                for (int tc = fromTileCol; tc <= toTileCol; tc++) {
+                    int t = tr * tileCols + tc;
+                    int[] bucket = buckets.get(t);
+                    if (bucket == null) {
+                        bucket = new int[4];
+                        buckets.set(t, bucket);
+                    } else if (sizes[t] == bucket.length) {
+                        bucket = Arrays.copyOf(bucket, bucket.length * 2);
+                        buckets.set(t, bucket);
+                    }
+                    bucket[sizes[t]++] = b;
+                }
+            }
+        }
+
+        pool.submit(() -> IntStream.range(0, tiles.length).parallel()
+                .filter(t -> sizes[t] > 0)
+                .forEach(t -> tiles[t] = fillTile(t, bombs, buckets.get(t), sizes[t])))
+                .join();
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numCols() {
+        return numCols;
+    }
+
+    @Override
+    public int get(int row, int col) {
+        if (row < 0 || row >= numRows || col < 0 || col >= numCols) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + col + ") is outside the board");
+        }
+        byte[] tile = tiles[(row >>> TILE_SHIFT) * tileCols + (col >>> TILE_SHIFT)];
+        if (tile == null) return 0;
+        return tile[((row & (TILE - 1)) << TILE_SHIFT) | (col & (TILE - 1))];
+    }
+
+    /**
+     * Bombs are marked in a first pass, so a cell that is a bomb stays -1 whatever the order of the bombs is.
+     */
+    private byte[] fillTile(int t, int[][] bombs, int[] bucket, int size) {
+        int rowBase = (t / tileCols) << TILE_SHIFT;
+        int colBase = (t % tileCols) << TILE_SHIFT;
+        int rows = Math.min(TILE, numRows - rowBase);
+        int cols = Math.min(TILE, numCols - colBase);
+        byte[] tile = new byte[TILE * TILE];
+
+        for (int i = 0; i < size; i++) {
+            int r = bombs[bucket[i]][0] - rowBase, c = bombs[bucket[i]][1] - colBase;
+            if (r >= 0 && r < rows && c >= 0 && c < cols) {
+                tile[(r << TILE_SHIFT) | c] = BOMB;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            int r0 = bombs[bucket[i]][0] - rowBase, c0 = bombs[bucket[i]][1] - colBase;
+            for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+                for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                    int index = (r << TILE_SHIFT) | c;
+                    if (tile[index] != BOMB) tile[index]++;
+                }
+            }
+        }
+        return tile;
+    }
+}
@@ -0,0 +1,36 @@
+#!/bin/sh
+# Builds build/benchmarks.jar (self-contained JMH jar for SolutionsBenchmark) with plain javac + jar.
+#
+#   ./benchmarks.sh                                   build only
+#   ./benchmarks.sh gate baseline.properties          build, run the benchmarks, check them with BenchmarkGate
+#   ./benchmarks.sh gate baseline.properties --update build, run, store the results as the new baseline
+#
+# The JMH jars are taken from the local Maven repository (M2_REPO, default ~/.m2/repository). Fetch them once with
+#   mvn dependency:get -Dartifact=org.openjdk.jmh:jmh-generator-annprocess:1.37
+set -e
+cd "$(dirname "$0")"
+
+M2_REPO=${M2_REPO:-$HOME/.m2/repository}
+JMH_VERSION=${JMH_VERSION:-1.37}
+JMH_CORE=$M2_REPO/org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar
+JMH_APT=$M2_REPO/org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar
+JOPT=$M2_REPO/net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar
+MATH3=$M2_REPO/org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar
+for jar in "$JMH_CORE" "$JMH_APT" "$JOPT" "$MATH3"; do
+    [ -f "$jar" ] || { echo "Missing $jar" >&2; exit 1; }
+done
+
+rm -rf build
+mkdir -p build/classes
+# SolutionTest needs JUnit and is not part of the benchmark jar
+javac -d build/classes -cp "$JMH_CORE" -processorpath "$JMH_APT:$JMH_CORE" \
+    $(ls *.java | grep -v SolutionTest.java)
+# Unpack the runtime dependencies next to the classes, like the shade plugin would
+(cd build/classes && for jar in "$JMH_CORE" "$JOPT" "$MATH3"; do jar xf "$jar"; done && rm -rf META-INF/MANIFEST.MF META-INF/maven)
+jar --create --file build/benchmarks.jar --main-class org.openjdk.jmh.Main -C build/classes .
+echo "Built build/benchmarks.jar"
+
+if [ "$1" = "gate" ]; then
+    java -jar build/benchmarks.jar SolutionsBenchmark -prof gc -rf csv -rff build/results.csv
+    java -cp build/classes interviewsexposed.BenchmarkGate build/results.csv "$2" $3
+fi
@@ -0,0 +1,295 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * A scalable version of the Jstat.java churn loop, plus a driver that runs it
+ * under several collectors and prints a comparison table.
+ *
+ * Usage:
+ *   java Main compare [options]   -> runs the load in a child JVM per collector, prints the table
+ *   java Main run [options]       -> runs the load in this JVM and prints one result line
+ *
+ * Options (key=value):
+ *   threads=4            allocating threads
+ *   rate=500             target allocation rate in MB/s over all threads, 0 = as fast as possible
+ *   sizes=64:70,512:25,16384:5
+ *                        object size mix as bytes:weight pairs
+ *   survivor=0.05        fraction of allocations kept in a mid-lived ring, so they survive a few young GCs
+ *   liveset=256          long-lived data in MB, slowly replaced to keep the old generation busy
+ *   seconds=30           measured duration
+ *   heap=2g              -Xmx / -Xms for the child JVMs
+ */
+public class Main {
+
+    static final String[][] COLLECTORS = {
+            {"G1", "-XX:+UseG1GC"},
+            {"ZGC (generational)", "-XX:+UseZGC", "-XX:+ZGenerational"},
+            {"Parallel", "-XX:+UseParallelGC"},
+    };
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("run") || args[0].equals("compare"))) {
+            System.out.println("usage: java Main run|compare [key=value ...]");
+            return;
+        }
+        LoadConfig config = LoadConfig.parse(Arrays.copyOfRange(args, 1, args.length));
+        if (args[0].equals("run")) {
+            System.out.println(LoadResult.PREFIX + new LoadGenerator(config).run().serialize());
+        } else {
+            compare(config, Arrays.copyOfRange(args, 1, args.length));
+        }
+    }
+
+    static void compare(LoadConfig config, String[] options) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Map<String, LoadResult> results = new LinkedHashMap<>();
+
+        for (String[] collector : COLLECTORS) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-Xmx" + config.heap);
+            command.add("-Xms" + config.heap);
+            command.addAll(Arrays.asList(collector).subList(1, collector.length));
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add("Main");
+            command.add("run");
+            command.addAll(Arrays.asList(options));
+
+            System.out.println("Running " + collector[0] + " ...");
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            LoadResult result = null;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(LoadResult.PREFIX)) {
+                        result = LoadResult.parse(line.substring(LoadResult.PREFIX.length()));
+                    } else {
+                        System.out.println("  " + line);
+                    }
+                }
+            }
+            process.waitFor();
+            results.put(collector[0], result);
+        }
+
+        System.out.println();
+        System.out.printf("%-20s %12s %10s %10s %10s %10s %10s%n",
+                "Collector", "Alloc MB/s", "GC %", "p99 ms", "p999 ms", "max ms", "RSS MB");
+        results.forEach((name, r) -> {
+            if (r == null) {
+                System.out.printf("%-20s %12s%n", name, "n/a (JVM did not start or crashed)");
+            } else {
+                System.out.printf("%-20s %12.1f %10.2f %10.3f %10.3f %10.3f %10d%n",
+                        name, r.allocatedMbPerSecond, r.gcTimePercent,
+                        r.p99PauseMs, r.p999PauseMs, r.maxPauseMs, r.peakRssMb);
+            }
+        });
+    }
+}
+
+class LoadConfig {
+    int threads = 4;
+    double rateMbPerSecond = 500;
+    int[] sizes = {64, 512, 16384};
+    int[] weights = {70, 25, 5};
+    double survivorRatio = 0.05;
+    long liveSetMb = 256;
+    long seconds = 30;
+    String heap = "2g";
+
+    static LoadConfig parse(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("expected key=value but got: " + arg);
+            switch (kv[0]) {
+                case "threads": config.threads = Integer.parseInt(kv[1]); break;
+                case "rate": config.rateMbPerSecond = Double.parseDouble(kv[1]); break;
+                case "survivor": config.survivorRatio = Double.parseDouble(kv[1]); break;
+                case "liveset": config.liveSetMb = Long.parseLong(kv[1]); break;
+                case "seconds": config.seconds = Long.parseLong(kv[1]); break;
+                case "heap": config.heap = kv[1]; break;
+                case "sizes":
+                    String[] pairs = kv[1].split(",");
+                    config.sizes = new int[pairs.length];
+                    config.weights = new int[pairs.length];
+                    for (int i = 0; i < pairs.length; i++) {
+                        String[] sw = pairs[i].split(":");
+                        config.sizes[i] = Integer.parseInt(sw[0]);
+                        config.weights[i] = sw.length > 1 ? Integer.parseInt(sw[1]) : 1;
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option: " + kv[0]);
+            }
+        }
+        return config;
+    }
+}
+
+class LoadGenerator {
+    private static final int SURVIVOR_SLOTS = 1 << 16;
+
+    private final LoadConfig config;
+    private final int[] sizeTable = new int[100];
+    private final byte[][] liveSet;
+    private final byte[][] survivors = new byte[SURVIVOR_SLOTS][];
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile boolean running = true;
+
+    LoadGenerator(LoadConfig config) {
+        this.config = config;
+        int totalWeight = 0;
+        for (int w : config.weights) totalWeight += w;
+        // 100 slot lookup table, so picking a size is one random index instead of a weighted search
+        int slot = 0;
+        for (int i = 0; i < config.sizes.length; i++) {
+            int slots = (int) Math.round(100.0 * config.weights[i] / totalWeight);
+            for (int j = 0; j < slots && slot < sizeTable.length; j++) sizeTable[slot++] = config.sizes[i];
+        }
+        while (slot < sizeTable.length) sizeTable[slot++] = config.sizes[config.sizes.length - 1];
+
+        int chunk = 64 * 1024;
+        liveSet = new byte[(int) (config.liveSetMb * 1024 * 1024 / chunk)][];
+        for (int i = 0; i < liveSet.length; i++) liveSet[i] = new byte[chunk];
+    }
+
+    LoadResult run() throws InterruptedException {
+        List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+        try (RecordingStream rs = new RecordingStream()) {
+            rs.enable("jdk.GCPhasePause");
+            rs.onEvent("jdk.GCPhasePause", e -> pauses.add(e.getDuration().toNanos()));
+            rs.startAsync();
+
+            Thread[] workers = new Thread[config.threads];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Thread(this::allocate, "load-" + i);
+                workers[i].start();
+            }
+            long start = System.nanoTime();
+            Thread.sleep(Duration.ofSeconds(config.seconds).toMillis());
+            running = false;
+            for (Thread worker : workers) worker.join();
+            long elapsed = System.nanoTime() - start;
+            Thread.sleep(500);
+
+            return LoadResult.of(allocatedBytes.get(), elapsed, new ArrayList<>(pauses), peakRssMb());
+        }
+    }
+
+    private void allocate() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        double bytesPerNano = config.rateMbPerSecond * 1024 * 1024 / 1e9 / config.threads;
+        long start = System.nanoTime();
+        long allocated = 0;
+        long published = 0;
+        while (running) {
+            // Allocate in small batches and only then check the pacing, so the clock is not read per object
+            for (int i = 0; i < 64; i++) {
+                byte[] data = new byte[sizeTable[rnd.nextInt(sizeTable.length)]];
+                allocated += data.length;
+                if (rnd.nextDouble() < config.survivorRatio) {
+                    survivors[rnd.nextInt(SURVIVOR_SLOTS)] = data;
+                }
+            }
+            if (liveSet.length > 0 && rnd.nextInt(1024) == 0) {
+                liveSet[rnd.nextInt(liveSet.length)] = new byte[64 * 1024];
+            }
+            if (allocated - published > 1 << 20) {
+                allocatedBytes.addAndGet(allocated - published);
+                published = allocated;
+            }
+            if (bytesPerNano > 0) {
+                long ahead = (long) (allocated / bytesPerNano) - (System.nanoTime() - start);
+                if (ahead > 1_000_000) {
+                    try {
+                        Thread.sleep(ahead / 1_000_000);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }
+        allocatedBytes.addAndGet(allocated - published);
+    }
+
+    /**
+     * VmHWM is the peak resident set size, only available on Linux. Elsewhere the committed heap is
+     * used as a rough stand-in.
+     */
+    private static long peakRssMb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) / 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // fall through
+        }
+        return Runtime.getRuntime().totalMemory() / (1024 * 1024);
+    }
+}
+
+class LoadResult {
+    static final String PREFIX = "RESULT ";
+
+    double allocatedMbPerSecond;
+    double gcTimePercent;
+    double p99PauseMs;
+    double p999PauseMs;
+    double maxPauseMs;
+    long peakRssMb;
+
+    static LoadResult of(long allocatedBytes, long elapsedNanos, List<Long> pauses, long peakRssMb) {
+        LoadResult r = new LoadResult();
+        r.allocatedMbPerSecond = allocatedBytes / 1048576.0 / (elapsedNanos / 1e9);
+        Collections.sort(pauses);
+        long total = 0;
+        for (long p : pauses) total += p;
+        r.gcTimePercent = 100.0 * total / elapsedNanos;
+        r.p99PauseMs = percentile(pauses, 0.99) / 1e6;
+        r.p999PauseMs = percentile(pauses, 0.999) / 1e6;
+        r.maxPauseMs = pauses.isEmpty() ? 0 : pauses.get(pauses.size() - 1) / 1e6;
+        r.peakRssMb = peakRssMb;
+        return r;
+    }
+
+    String serialize() {
+        return allocatedMbPerSecond + " " + gcTimePercent + " " + p99PauseMs + " "
+                + p999PauseMs + " " + maxPauseMs + " " + peakRssMb;
+    }
+
+    static LoadResult parse(String line) {
+        String[] parts = line.trim().split(" ");
+        LoadResult r = new LoadResult();
+        r.allocatedMbPerSecond = Double.parseDouble(parts[0]);
+        r.gcTimePercent = Double.parseDouble(parts[1]);
+        r.p99PauseMs = Double.parseDouble(parts[2]);
+        r.p999PauseMs = Double.parseDouble(parts[3]);
+        r.maxPauseMs = Double.parseDouble(parts[4]);
+        r.peakRssMb = Long.parseLong(parts[5]);
+        return r;
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,234 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * In-process alternative to the jps + jstat workflow: runs a workload while a JFR
+ * RecordingStream listens for allocation samples and GC pauses, then writes a report.
+ *
+ * Usage (JDK 16+, since jdk.ObjectAllocationSample was added there):
+ *   java Main                              -> profiles the GCMe churn loop for 30 seconds
+ *   java Main report.txt 60                -> custom report file and duration in seconds
+ *   java Main report.txt 60 SomeClass a b  -> runs SomeClass.main(a, b) as the workload
+ */
+public class Main {
+
+    public static void main(String... args) throws Exception {
+        Path reportFile = Paths.get(args.length > 0 ? args[0] : "jfr-report.txt");
+        long seconds = args.length > 1 ? Long.parseLong(args[1]) : 30;
+
+        Runnable workload = args.length > 2
+                ? mainOf(args[2], java.util.Arrays.copyOfRange(args, 3, args.length))
+                : Main::churn;
+
+        AllocationReport report = new AllocationReport();
+        try (RecordingStream rs = new RecordingStream()) {
+            rs.enable("jdk.ObjectAllocationSample").with("throttle", "150/s").withStackTrace();
+            rs.enable("jdk.GarbageCollection");
+            rs.enable("jdk.GCPhasePause");
+            rs.enable("jdk.ThreadAllocationStatistics").withPeriod(Duration.ofSeconds(1));
+
+            rs.onEvent("jdk.ObjectAllocationSample", report::onAllocation);
+            rs.onEvent("jdk.GarbageCollection", report::onGarbageCollection);
+            rs.onEvent("jdk.GCPhasePause", report::onPause);
+            rs.onEvent("jdk.ThreadAllocationStatistics", report::onThreadStatistics);
+            rs.startAsync();
+
+            Thread worker = new Thread(workload, "workload");
+            worker.setDaemon(true);
+            worker.start();
+            worker.join(Duration.ofSeconds(seconds).toMillis());
+
+            // Give the periodic events a last chance to arrive before closing the stream
+            Thread.sleep(1500);
+        }
+
+        report.write(reportFile);
+        System.out.println("\nReport written to " + reportFile.toAbsolutePath());
+    }
+
+    /**
+     * The same churn loop as Jstat.java, minus the sleep, so there is something to profile.
+     */
+    static void churn() {
+        int arraySize = 1000000;
+        GCMe[] gcmes = new GCMe[arraySize];
+        Random rnd = new Random();
+        long count = 0;
+        while (true) {
+            gcmes[rnd.nextInt(arraySize)] = new GCMe();
+            if (count % 10000000 == 0) {
+                System.out.print(".");
+            }
+            count++;
+        }
+    }
+
+    static Runnable mainOf(String className, String[] workloadArgs) throws ReflectiveOperationException {
+        Method main = Class.forName(className).getMethod("main", String[].class);
+        return () -> {
+            try {
+                main.invoke(null, (Object) workloadArgs);
+            } catch (ReflectiveOperationException e) {
+                e.printStackTrace();
+            }
+        };
+    }
+}
+
+/**
+ * Aggregates the streamed events. Callbacks come from the single JFR dispatch thread,
+ * but write() is called from main, hence the synchronized methods.
+ */
+class AllocationReport {
+    private static final int TOP = 20;
+
+    private final Map<String, Long> bytesBySite = new HashMap<>();
+    private final Map<String, Long> bytesByClass = new HashMap<>();
+    private final Map<String, ThreadRate> rateByThread = new HashMap<>();
+    private final Map<String, Long> collectionsByName = new HashMap<>();
+    private final List<Long> pausesNanos = new ArrayList<>();
+    private long sampledBytes;
+
+    synchronized void onAllocation(RecordedEvent event) {
+        long weight = event.getLong("weight");
+        sampledBytes += weight;
+        bytesByClass.merge(event.getClass("objectClass").getName(), weight, Long::sum);
+        bytesBySite.merge(topFrame(event.getStackTrace()), weight, Long::sum);
+    }
+
+    synchronized void onGarbageCollection(RecordedEvent event) {
+        String key = event.getString("name") + " (" + event.getString("cause") + ")";
+        collectionsByName.merge(key, 1L, Long::sum);
+    }
+
+    synchronized void onPause(RecordedEvent event) {
+        pausesNanos.add(event.getDuration().toNanos());
+    }
+
+    synchronized void onThreadStatistics(RecordedEvent event) {
+        RecordedThread thread = event.getThread("thread");
+        if (thread == null) return;
+        String name = thread.getJavaName() != null ? thread.getJavaName() : thread.getOSName();
+        long allocated = event.getLong("allocated");
+        long at = event.getStartTime().toEpochMilli();
+        rateByThread.computeIfAbsent(name, k -> new ThreadRate(allocated, at)).update(allocated, at);
+    }
+
+    synchronized void write(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.printf("Sampled allocation weight: %,d bytes%n%n", sampledBytes);
+
+            out.println("== Top allocating sites ==");
+            printTop(out, bytesBySite);
+
+            out.println("== Top allocated classes ==");
+            printTop(out, bytesByClass);
+
+            out.println("== Allocation rate per thread ==");
+            rateByThread.entrySet().stream()
+                    .sorted((x, y) -> Double.compare(y.getValue().mbPerSecond(), x.getValue().mbPerSecond()))
+                    .forEach(e -> out.printf("%12.1f MB/s  %s%n", e.getValue().mbPerSecond(), e.getKey()));
+            out.println();
+
+            out.println("== Garbage collections ==");
+            collectionsByName.forEach((name, count) -> out.printf("%8d  %s%n", count, name));
+            out.println();
+
+            out.println("== GC pause distribution ==");
+            if (pausesNanos.isEmpty()) {
+                out.println("no pauses recorded");
+                return;
+            }
+            List<Long> sorted = new ArrayList<>(pausesNanos);
+            Collections.sort(sorted);
+            long total = 0;
+            for (long p : sorted) total += p;
+            out.printf("count %d, total %.3f ms%n", sorted.size(), total / 1e6);
+            out.printf("p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, p999 %.3f ms, max %.3f ms%n",
+                    percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.90) / 1e6,
+                    percentile(sorted, 0.99) / 1e6, percentile(sorted, 0.999) / 1e6,
+                    sorted.get(sorted.size() - 1) / 1e6);
+        }
+    }
+
+    private void printTop(PrintWriter out, Map<String, Long> bytes) {
+        bytes.entrySet().stream()
+                .sorted((x, y) -> Long.compare(y.getValue(), x.getValue()))
+                .limit(TOP)
+                .forEach(e -> out.printf("%16s  %5.1f%%  %s%n", String.format("%,d", e.getValue()),
+                        100.0 * e.getValue() / Math.max(1, sampledBytes), e.getKey()));
+        out.println();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) return "<no stack trace>";
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
+
+/**
+ * ThreadAllocationStatistics reports the cumulative bytes allocated by a thread,
+ * so the rate is the difference between the first and last sample.
+ */
+class ThreadRate {
+    private final long firstAllocated;
+    private final long firstAt;
+    private long lastAllocated;
+    private long lastAt;
+
+    ThreadRate(long allocated, long at) {
+        this.firstAllocated = allocated;
+        this.firstAt = at;
+    }
+
+    void update(long allocated, long at) {
+        lastAllocated = allocated;
+        lastAt = at;
+    }
+
+    double mbPerSecond() {
+        if (lastAt <= firstAt) return 0;
+        return (lastAllocated - firstAllocated) / 1048576.0 / ((lastAt - firstAt) / 1000.0);
+    }
+}
+
+class GCMe {
+    long a;
+    long aa;
+    long aaa;
+    long aaaa;
+    long aaaaa;
+    long aaaaaa;
+    long aaaaaaa;
+    long aaaaaaaa;
+    long aaaaaaaaa;
+    long aaaaaaaaaa;
+    long aaaaaaaaaaa;
+    long aaaaaaaaaaaa;
+    long aaaaaaaaaaaaa;
+    long aaaaaaaaaaaaaa;
+}